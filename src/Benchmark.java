@@ -0,0 +1,310 @@
+import libraries.cli.CLI;
+import libraries.cli.menu.MenuType;
+import libraries.maze.DistanceOracle;
+import libraries.maze.JunctionGraph;
+import libraries.maze.Maze;
+import libraries.maze.batch.BatchGenerator;
+import libraries.maze.batch.BatchReport;
+import libraries.maze.batch.MazeJob;
+import libraries.maze.batch.MazeSink;
+import libraries.maze.generators.MazeGeneratorFactory;
+import libraries.maze.generators.binarytree.BinaryTreeMazeGenerator;
+import libraries.maze.generators.concurrent.ConcurrentMazeGenerator;
+import libraries.maze.generators.eller.EllerMazeGenerator;
+import libraries.maze.generators.kruskal.KruskalMazeGenerator;
+import libraries.maze.generators.parallel.ParallelMazeGenerator;
+import libraries.maze.generators.prim.PrimMazeGenerator;
+import libraries.maze.generators.rds.RDSMazeGenerator;
+import libraries.maze.generators.sidewinder.SidewinderMazeGenerator;
+import libraries.maze.solvers.astar.AStarSolver;
+import libraries.maze.solvers.bidirectional.BidirectionalSolver;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Performance benchmarks of the maze algorithms
+ * <p>
+ * Run with {@code MAIN_CLASS=Benchmark ./run.sh}. Each case is warmed up, then timed a few times reporting the median
+ * run time and the bytes allocated by a run, the latter being a good estimate of the memory the algorithm needs.
+ * </p>
+ */
+public class Benchmark {
+
+    private static final Map<String, MazeGeneratorFactory> GENERATORS = Map.of(
+        "RDS", RDSMazeGenerator::new,
+        "Kruskal", KruskalMazeGenerator::new,
+        "Eller", EllerMazeGenerator::new,
+        "Parallel", ParallelMazeGenerator::new,
+        "Concurrent", ConcurrentMazeGenerator::new,
+        "Binary tree", BinaryTreeMazeGenerator::new,
+        "Sidewinder", SidewinderMazeGenerator::new,
+        "Prim", PrimMazeGenerator::new
+    );
+
+    private static final Map<String, Runnable> BENCHMARKS = Map.of(
+        "Generators", Benchmark::generators,
+        "Parallel generation", Benchmark::parallel,
+        "Concurrent walkers", Benchmark::concurrent,
+        "Batch generation", Benchmark::batch,
+        "A* open sets", Benchmark::openSets,
+        "Bidirectional search", Benchmark::bidirectional,
+        "Distance queries", Benchmark::distances
+    );
+
+    // maze sizes used by the benchmarks, about 1k, 1M and 16M cells
+    private static final int[][] SIZES = {{32, 32}, {1000, 1000}, {4000, 4000}};
+
+    public static void main(String[] args) {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+
+        List<String> options = BENCHMARKS.keySet().stream().sorted().toList();
+        int choice = CLI.showMenu(MenuType.NUMBERED, "Select a benchmark:", options);
+        BENCHMARKS.get(options.get(choice)).run();
+    }
+
+    /**
+     * Compare generators throughput and memory on every size
+     */
+    public static void generators() {
+        CLI.out(String.format("%-12s %12s %12s %14s %12s%n", "generator", "cells", "ms", "Mcells/s", "MB/run"), false);
+
+        for (int[] size : SIZES) {
+            for (Map.Entry<String, MazeGeneratorFactory> entry : GENERATORS.entrySet()) {
+                Result result = Benchmark.measure(seed -> entry.getValue().create(size[0], size[1], seed).start());
+                long cells = (long) size[0] * size[1];
+                CLI.out(String.format("%-12s %12d %12.2f %14.1f %12.2f%n", entry.getKey(), cells, result.millis(), cells / result.millis() / 1000, result.megabytes()), false);
+            }
+        }
+    }
+
+    /**
+     * Compare the tiled parallel generator with the single threaded RDS on the biggest size
+     * <p>the parallel generator runs on pools of growing parallelism, up to the available processors</p>
+     */
+    public static void parallel() {
+        int[] size = SIZES[SIZES.length - 1];
+        long cells = (long) size[0] * size[1];
+
+        Result rds = Benchmark.measure(seed -> new RDSMazeGenerator(size[0], size[1], seed).start());
+        CLI.out(String.format("%-14s %12s %12s %14s %10s%n", "generator", "threads", "ms", "Mcells/s", "speedup"), false);
+        CLI.out(String.format("%-14s %12d %12.2f %14.1f %10.2f%n", "RDS", 1, rds.millis(), cells / rds.millis() / 1000, 1.0), false);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads = threads < processors ? Math.min(threads * 2, processors) : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Result result = Benchmark.measure(seed -> new ParallelMazeGenerator(size[0], size[1], seed, pool).start());
+            pool.shutdown();
+
+            CLI.out(String.format("%-14s %12d %12.2f %14.1f %10.2f%n", "Parallel", threads, result.millis(), cells / result.millis() / 1000, rds.millis() / result.millis()), false);
+        }
+    }
+
+    /**
+     * Report how the lock free walkers scale from 1 thread up to the available processors on the biggest size
+     * <p>lost claims count the cells a walker tried to take after another walker got them, a measure of the
+     * contention on the shared visited bitmap</p>
+     */
+    public static void concurrent() {
+        int[] size = SIZES[SIZES.length - 1];
+        long cells = (long) size[0] * size[1];
+        double single = 0;
+
+        CLI.out(String.format("%-14s %12s %12s %14s %10s %14s%n", "generator", "threads", "ms", "Mcells/s", "speedup", "lost claims"), false);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads = threads < processors ? Math.min(threads * 2, processors) : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ConcurrentMazeGenerator[] last = new ConcurrentMazeGenerator[1];
+            Result result = Benchmark.measure(seed -> (last[0] = new ConcurrentMazeGenerator(size[0], size[1], seed, pool)).start());
+            pool.shutdown();
+
+            if (threads == 1) single = result.millis();
+            CLI.out(String.format("%-14s %12d %12.2f %14.1f %10.2f %14d%n", "Concurrent", threads, result.millis(), cells / result.millis() / 1000, single / result.millis(), last[0].getLostClaims()), false);
+        }
+    }
+
+    /**
+     * Run a batch of small mazes of mixed sizes and algorithms on virtual threads and on a pool of platform threads
+     * <p>mazes are dropped by the sink, so only generation and scheduling are measured</p>
+     */
+    public static void batch() {
+        List<String> algorithms = GENERATORS.keySet().stream().sorted().toList();
+        int[] sides = {16, 32, 64, 128, 256};
+
+        List<MazeJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            String algorithm = algorithms.get(i % algorithms.size());
+            int side = sides[i / algorithms.size() % sides.length];
+            jobs.add(new MazeJob(algorithm, GENERATORS.get(algorithm), side, side, i));
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        try {
+            // the first run on each executor is only a warm up
+            try (BatchGenerator batch = BatchGenerator.onVirtualThreads()) {
+                batch.run(jobs, MazeSink.discard());
+                BatchReport report = batch.run(jobs, MazeSink.discard());
+                CLI.out(String.format("%-16s %s%n", "virtual threads", report), false);
+            }
+            try (BatchGenerator batch = BatchGenerator.onPool(processors)) {
+                batch.run(jobs, MazeSink.discard());
+                BatchReport report = batch.run(jobs, MazeSink.discard());
+                CLI.out(String.format("%-16s %s%n", processors + " threads pool", report), false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compare the A* open set implementations solving the same RDS mazes on every size, on every cell and on the
+     * junction graph
+     * <p>the junction graph is built once per maze, as a solver reusing it would do. Every variant must find a path
+     * as long as the one found on every cell with the first open set</p>
+     */
+    public static void openSets() {
+        CLI.out(String.format("%-18s %12s %12s %14s %12s %12s%n", "open set", "cells", "ms", "Mcells/s", "MB/run", "expanded"), false);
+
+        for (int[] size : SIZES) {
+            Maze<?, ?> maze = new RDSMazeGenerator(size[0], size[1], 0).start();
+            JunctionGraph junctions = new JunctionGraph(maze.getGrid());
+            long cells = (long) size[0] * size[1];
+            int length = -1;
+
+            for (boolean contracted : new boolean[] {false, true}) {
+                for (AStarSolver.OpenSet openSet : AStarSolver.OpenSet.values()) {
+                    AStarSolver[] last = new AStarSolver[1];
+                    Result result = Benchmark.measure(seed -> {
+                        AStarSolver solver = last[0] = new AStarSolver(maze);
+                        solver.setOpenSet(openSet);
+                        solver.setContracted(contracted);
+                        solver.setJunctions(junctions);
+                        solver.start();
+                    });
+                    String name = contracted ? openSet + " contracted" : openSet.toString();
+                    if (length < 0) length = last[0].getLength();
+                    if (last[0].getLength() != length) throw new IllegalStateException(name + " found a path of " + last[0].getLength() + " steps instead of " + length);
+                    CLI.out(String.format("%-18s %12d %12.2f %14.1f %12.2f %12d%n", name, cells, result.millis(), cells / result.millis() / 1000, result.megabytes(), last[0].getExpanded()), false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the bidirectional solver, on one and two threads, with A* solving the same RDS mazes on every size
+     */
+    public static void bidirectional() {
+        CLI.out(String.format("%-16s %12s %12s %14s %12s%n", "solver", "cells", "ms", "Mcells/s", "MB/run"), false);
+
+        for (int[] size : SIZES) {
+            Maze<?, ?> maze = new RDSMazeGenerator(size[0], size[1], 0).start();
+            long cells = (long) size[0] * size[1];
+
+            Result astar = Benchmark.measure(seed -> new AStarSolver(maze).start());
+            CLI.out(String.format("%-16s %12d %12.2f %14.1f %12.2f%n", "A*", cells, astar.millis(), cells / astar.millis() / 1000, astar.megabytes()), false);
+
+            for (boolean parallel : new boolean[] {false, true}) {
+                Result result = Benchmark.measure(seed -> {
+                    BidirectionalSolver solver = new BidirectionalSolver(maze);
+                    solver.setParallel(parallel);
+                    solver.start();
+                });
+                String name = parallel ? "Bidirectional x2" : "Bidirectional";
+                CLI.out(String.format("%-16s %12d %12.2f %14.1f %12.2f%n", name, cells, result.millis(), cells / result.millis() / 1000, result.megabytes()), false);
+            }
+        }
+    }
+
+    /**
+     * Compare point to point queries on the distance oracle with an A* solve of the same RDS mazes on every size
+     * <p>each oracle run answers a batch of random queries, fewer for paths since a path on the biggest size holds
+     * about a million cells. The index is built once per maze and timed apart</p>
+     */
+    public static void distances() {
+        int queries = 100_000;
+        int paths = 100;
+        CLI.out(String.format("%-14s %12s %12s %14s %12s%n", "query", "cells", "ms", "us/query", "MB/run"), false);
+
+        for (int[] size : SIZES) {
+            Maze<?, ?> maze = new RDSMazeGenerator(size[0], size[1], 0).start();
+            int cells = size[0] * size[1];
+
+            Result build = Benchmark.measure(seed -> new DistanceOracle(maze.getGrid()));
+            CLI.out(String.format("%-14s %12d %12.2f %14s %12.2f%n", "oracle build", cells, build.millis(), "-", build.megabytes()), false);
+
+            DistanceOracle oracle = new DistanceOracle(maze.getGrid());
+            Result distance = Benchmark.measure(seed -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < queries; i++) oracle.distance(random.nextInt(cells), random.nextInt(cells));
+            });
+            CLI.out(String.format("%-14s %12d %12.2f %14.3f %12.2f%n", "distance", cells, distance.millis(), distance.millis() * 1000 / queries, distance.megabytes()), false);
+
+            Result path = Benchmark.measure(seed -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < paths; i++) oracle.path(random.nextInt(cells), random.nextInt(cells));
+            });
+            CLI.out(String.format("%-14s %12d %12.2f %14.3f %12.2f%n", "path", cells, path.millis(), path.millis() * 1000 / paths, path.megabytes()), false);
+
+            Result astar = Benchmark.measure(seed -> new AStarSolver(maze).start());
+            CLI.out(String.format("%-14s %12d %12.2f %14.3f %12.2f%n", "A*", cells, astar.millis(), astar.millis() * 1000, astar.megabytes()), false);
+        }
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Median time and allocation of a run
+     *
+     * @param millis the median run time in milliseconds
+     * @param megabytes the median allocated megabytes
+     */
+    private record Result(double millis, double megabytes) { }
+
+    /**
+     * A benchmark run, given the seed to use
+     */
+    private interface Run {
+        void run(long seed) throws Exception;
+    }
+
+    /**
+     * Warm up and time a run
+     * <p>allocations are counted on every thread, including pool workers, virtual threads and threads ended during
+     * the run, so multithreaded runs are measured as a whole</p>
+     *
+     * @param run the code to time
+     * @return the median time and allocation
+     */
+    private static Result measure(Run run) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        try {
+            // warm up until the first second is over, then time at least 5 runs
+            long warmup = System.nanoTime() + 1_000_000_000L;
+            for (long seed = 0; seed < 3 || System.nanoTime() < warmup; seed++) run.run(seed);
+
+            double[] millis = new double[5];
+            double[] megabytes = new double[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                long allocated = threads.getTotalThreadAllocatedBytes();
+                long start = System.nanoTime();
+                run.run(i);
+                millis[i] = (System.nanoTime() - start) / 1e6;
+                megabytes[i] = (threads.getTotalThreadAllocatedBytes() - allocated) / 1e6;
+            }
+
+            Arrays.sort(millis);
+            Arrays.sort(megabytes);
+            return new Result(millis[millis.length / 2], megabytes[megabytes.length / 2]);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -4,12 +4,26 @@ import libraries.cli.CLIStyle;
 import libraries.cli.menu.MenuType;
 import libraries.maze.Maze;
 import libraries.maze.generators.MazeGenerator;
+import libraries.maze.generators.binarytree.BinaryTreeMazeGenerator;
+import libraries.maze.generators.concurrent.ConcurrentMazeGenerator;
+import libraries.maze.generators.eller.EllerMazeGenerator;
+import libraries.maze.generators.kruskal.KruskalMazeGenerator;
+import libraries.maze.generators.parallel.ParallelMazeGenerator;
+import libraries.maze.generators.prim.PrimMazeGenerator;
 import libraries.maze.generators.rds.RDSMazeGenerator;
+import libraries.maze.generators.sidewinder.SidewinderMazeGenerator;
+import libraries.maze.io.MazeFile;
+import libraries.maze.io.MazeTextWriter;
 import libraries.maze.solvers.MazeSolver;
 import libraries.maze.solvers.astar.AStarSolver;
+import libraries.maze.solvers.bidirectional.BidirectionalSolver;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,11 +33,19 @@ import java.util.Map;
 public class Main {
 
     private static final Map<String, Class<? extends MazeGenerator>> GENERATORS = Map.of(
-        "RDS", RDSMazeGenerator.class
+        "RDS", RDSMazeGenerator.class,
+        "Kruskal", KruskalMazeGenerator.class,
+        "Eller", EllerMazeGenerator.class,
+        "Parallel", ParallelMazeGenerator.class,
+        "Concurrent", ConcurrentMazeGenerator.class,
+        "Binary tree", BinaryTreeMazeGenerator.class,
+        "Sidewinder", SidewinderMazeGenerator.class,
+        "Prim", PrimMazeGenerator.class
     );
 
     private static final Map<String, Class<? extends MazeSolver>> SOLVERS = Map.of(
-        "A*", AStarSolver.class
+        "A*", AStarSolver.class,
+        "Bidirectional", BidirectionalSolver.class
     );
 
     public static void main(String[] args) {
@@ -53,9 +75,19 @@ public class Main {
             Object instance = startUserInteraction.invoke(null);
 
             Method start = selected.getMethod("start", boolean.class);
-            start.invoke(instance, true);
-
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            Maze<?, ?> maze = (Maze<?, ?>) start.invoke(instance, true);
+
+            // optionally save the generated maze to solve it later, or as text to inspect it
+            String file = CLI.input("Save the maze to file, .txt for plain text (leave empty to skip) : ").trim();
+            if (file.endsWith(".txt")) {
+                try (Writer writer = Files.newBufferedWriter(Path.of(file))) {
+                    MazeTextWriter.export(maze.getGrid(), writer);
+                }
+            } else if (!file.isEmpty()) {
+                MazeFile.save(maze.getGrid(), ((MazeGenerator<?, ?>) instance).getSeed(), Path.of(file));
+            }
+
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | IOException e) {
             throw new RuntimeException(e);
         }
 
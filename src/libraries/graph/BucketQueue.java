@@ -0,0 +1,181 @@
+package libraries.graph;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue (Dial's algorithm) over dense int elements with small integer priorities
+ * <p>
+ * Every priority has a bucket holding its elements on an intrusive doubly linked list, so push, removal and priority
+ * changes are O(1) and polling only scans forward from the lowest bucket. Buckets live on a ring indexed by
+ * {@code priority & (ring - 1)}, which only needs to cover the spread between the lowest and highest queued
+ * priority: on a unit cost grid A* keeps f within 2 of the minimum, so a handful of buckets is enough for any maze.
+ * The ring doubles when a push goes beyond it. Elements with the same priority come out last in first out.
+ * </p>
+ */
+public class BucketQueue implements MinQueue {
+
+    // list links of each element and queued priority, -1 links mean none
+    private final int[] next;
+    private final int[] previous;
+    private final long[] priority;
+    private final long[] queued;
+
+    // ring of bucket heads
+    private int[] heads;
+    private long min;
+    private long max;
+    private int size;
+
+    /**
+     * Create an empty queue
+     *
+     * @param capacity the number of elements, elements go from 0 (inclusive) to capacity (exclusive)
+     */
+    public BucketQueue(int capacity) {
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.priority = new long[capacity];
+        this.queued = new long[(capacity + 63) >>> 6];
+
+        this.heads = new int[8];
+        Arrays.fill(this.heads, -1);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    @Override
+    public void push(int element, long priority) {
+        if (priority < 0) throw new IllegalArgumentException("priority can't be negative");
+
+        if (this.contains(element)) {
+            if (this.priority[element] == priority) return;
+            this.unlink(element);
+        } else {
+            this.queued[element >>> 6] |= 1L << element;
+            this.size++;
+        }
+
+        // widen the queued range, growing the ring if it doesn't cover it anymore
+        if (this.size == 1) {
+            this.min = priority;
+            this.max = priority;
+        } else {
+            this.min = Math.min(this.min, priority);
+            this.max = Math.max(this.max, priority);
+            if (this.max - this.min >= this.heads.length) this.grow();
+        }
+
+        this.priority[element] = priority;
+        this.link(element);
+    }
+
+    @Override
+    public int poll() {
+        if (this.size == 0) return -1;
+
+        // move the lower bound to the first non empty bucket
+        int mask = this.heads.length - 1;
+        while (this.heads[(int) this.min & mask] < 0) this.min++;
+
+        int element = this.heads[(int) this.min & mask];
+        this.unlink(element);
+        this.queued[element >>> 6] &= ~(1L << element);
+        this.size--;
+
+        return element;
+    }
+
+    @Override
+    public boolean contains(int element) {
+        return (this.queued[element >>> 6] & (1L << element)) != 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.heads, -1);
+        Arrays.fill(this.queued, 0L);
+        this.size = 0;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Put an element at the front of its bucket
+     *
+     * @param element the element, with its priority already set
+     */
+    private void link(int element) {
+        int bucket = (int) this.priority[element] & (this.heads.length - 1);
+        int head = this.heads[bucket];
+
+        this.next[element] = head;
+        this.previous[element] = -1;
+        if (head >= 0) this.previous[head] = element;
+        this.heads[bucket] = element;
+    }
+
+    /**
+     * Take an element out of its bucket
+     *
+     * @param element the element
+     */
+    private void unlink(int element) {
+        int next = this.next[element];
+        int previous = this.previous[element];
+
+        if (previous >= 0) this.next[previous] = next;
+        else this.heads[(int) this.priority[element] & (this.heads.length - 1)] = next;
+        if (next >= 0) this.previous[next] = previous;
+    }
+
+    /**
+     * Enlarge the ring to cover the queued range, keeping the order of each bucket
+     */
+    private void grow() {
+        int[] old = this.heads;
+
+        int length = old.length;
+        while (this.max - this.min >= length) length <<= 1;
+        this.heads = new int[length];
+        Arrays.fill(this.heads, -1);
+
+        // an old bucket only holds equal priorities, relink it from its tail so the front stays the front
+        for (int head : old) {
+            if (head < 0) continue;
+
+            int element = head;
+            while (this.next[element] >= 0) element = this.next[element];
+            for (; element >= 0; ) {
+                int previous = this.previous[element];
+                this.link(element);
+                element = previous;
+            }
+        }
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int capacity() {
+        return this.next.length;
+    }
+
+    /**
+     * retrieve the priority of an element
+     *
+     * @param element the element
+     * @return the priority it was last queued with
+     */
+    public long getPriority(int element) {
+        return this.priority[element];
+    }
+}
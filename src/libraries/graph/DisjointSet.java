@@ -0,0 +1,96 @@
+package libraries.graph;
+
+/**
+ * Union-find over dense int elements
+ * <p>
+ * Parents are kept on an {@code int[]} and ranks on a {@code byte[]}: finds use path halving and unions attach the
+ * lower ranked root under the higher ranked one, so every operation runs in almost constant amortized time.
+ * </p>
+ */
+public class DisjointSet {
+
+    // forest
+    private final int[] parent;
+    private final byte[] rank;
+    private int sets;
+
+    /**
+     * Create a disjoint set where every element is alone in its set
+     *
+     * @param size the number of elements
+     */
+    public DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.sets = size;
+
+        for (int i = 0; i < size; i++) this.parent[i] = i;
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Find the representative of the set of an element
+     *
+     * @param element the element
+     * @return the root of the element set
+     */
+    public int find(int element) {
+        int[] parent = this.parent;
+
+        // make every visited element point to its grandparent
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+
+        return element;
+    }
+
+    /**
+     * Merge the sets of 2 elements
+     *
+     * @param a the first element
+     * @param b the second element
+     * @return true if the elements were on different sets, false if they were already joined
+     */
+    public boolean union(int a, int b) {
+        a = this.find(a);
+        b = this.find(b);
+        if (a == b) return false;
+
+        // attach the lower tree under the higher one
+        if (this.rank[a] < this.rank[b]) {
+            this.parent[a] = b;
+        } else if (this.rank[a] > this.rank[b]) {
+            this.parent[b] = a;
+        } else {
+            this.parent[b] = a;
+            this.rank[a]++;
+        }
+
+        this.sets--;
+        return true;
+    }
+
+    /**
+     * Check if 2 elements are on the same set
+     *
+     * @param a the first element
+     * @param b the second element
+     * @return true if the elements are joined
+     */
+    public boolean connected(int a, int b) {
+        return this.find(a) == this.find(b);
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public int size() {
+        return this.parent.length;
+    }
+
+    public int getSets() {
+        return this.sets;
+    }
+}
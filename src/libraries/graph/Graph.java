@@ -5,11 +5,13 @@ import java.util.function.Supplier;
 
 public class Graph<N, E> {
     private final Map<Node<N>, List<Edge<E, N>>> graph;
+    private final Map<Link<N>, Edge<E, N>> links;
     private final Supplier<N> nodeSupplier;
     private final Supplier<E> edgeSupplier;
 
     public Graph(Supplier<N> nodeSupplier, Supplier<E> edgeSupplier) {
         this.graph = new HashMap<>();
+        this.links = new HashMap<>();
         this.nodeSupplier = nodeSupplier;
         this.edgeSupplier = edgeSupplier;
     }
@@ -60,6 +62,12 @@ public class Graph<N, E> {
      * @param node the node to remove from the graph
      */
     public void removeNode(Node<N> node) {
+        List<Edge<E, N>> edges = this.graph.get(node);
+        if (edges == null) return;
+
+        // detach all the edges of the node from the other side and from the index
+        for (Edge<E, N> e : List.copyOf(edges)) this.removeEdge(e);
+
         this.graph.remove(node);
     }
 
@@ -86,6 +94,16 @@ public class Graph<N, E> {
     }
 
 
+    /**
+     * Create a cursor to walk neighbors and edges of the graph nodes
+     * <p>the cursor can be reused for any node of this graph, so hot loops can create it once and walk without allocations</p>
+     *
+     * @return a new cursor on this graph
+     */
+    public Cursor<N, E> cursor() {
+        return new Cursor<>(this);
+    }
+
     /**
      * retrieve the list of edges connected to the node
      *
@@ -118,9 +136,7 @@ public class Graph<N, E> {
      * @return an Optional Edge describing the edge which is linking the 2 given nodes
      */
     public Optional<Edge<E, N>> getLinkEdge(Node<N> node1, Node<N> node2) {
-        return this.graph.get(node1).stream()
-                .filter(e -> (e.getNode1() == node1 && e.getNode2() == node2) || (e.getNode2() == node1 && e.getNode1() == node2))
-                .findFirst();
+        return Optional.ofNullable(this.links.get(new Link<>(node1, node2)));
     }
 
     /**
@@ -134,8 +150,8 @@ public class Graph<N, E> {
         // check if both nodes are on the graph
         if(!this.graph.containsKey(node1) || !this.graph.containsKey(node2)) return false;
 
-        // cycle all nodes of the node1 searching for the second node
-        return this.getNeighbors(node1).stream().anyMatch(n -> n == node2);
+        // look for a linking edge on the index
+        return this.links.containsKey(new Link<>(node1, node2));
     }
 
     public Set<Node<N>> getNodes() {
@@ -156,6 +172,9 @@ public class Graph<N, E> {
         this.graph.get(edge.getNode1()).add(edge);
         this.graph.get(edge.getNode2()).add(edge);
 
+        // index the edge by its nodes, keeping the first one if nodes are already linked
+        this.links.putIfAbsent(new Link<>(edge.getNode1(), edge.getNode2()), edge);
+
         return edge;
     }
 
@@ -210,6 +229,106 @@ public class Graph<N, E> {
         if(this.graph.containsKey(edge.getNode1())) this.graph.get(edge.getNode1()).remove(edge);
         if(this.graph.containsKey(edge.getNode2())) this.graph.get(edge.getNode2()).remove(edge);
 
+        // remove the edge from the index, promoting another edge between the same nodes if any
+        Link<N> link = new Link<>(edge.getNode1(), edge.getNode2());
+        if (this.links.remove(link, edge) && this.graph.containsKey(edge.getNode1())) {
+            for (Edge<E, N> e : this.graph.get(edge.getNode1())) {
+                if (new Link<>(e.getNode1(), e.getNode2()).equals(link)) {
+                    this.links.put(link, e);
+                    break;
+                }
+            }
+        }
+
+    }
+
+    // CURSOR ---------------------------------------------------------------------------
+
+    /**
+     * Reusable cursor over the edges connected to a node
+     * <p>
+     * Usage: {@code cursor.reset(node); while (cursor.next()) { cursor.getNeighbor(); cursor.getEdge(); }}
+     * </p>
+     */
+    public static class Cursor<N, E> {
+        private final Graph<N, E> graph;
+        private Node<N> node;
+        private List<Edge<E, N>> edges;
+        private int index;
+
+        private Cursor(Graph<N, E> graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * move the cursor before the first edge of the given node
+         *
+         * @param node the node to walk
+         * @return fluently returns itself
+         */
+        public Cursor<N, E> reset(Node<N> node) {
+            this.node = node;
+            this.edges = this.graph.getEdges(node);
+            this.index = -1;
+            return this;
+        }
+
+        /**
+         * move the cursor to the next edge
+         *
+         * @return true if the cursor is on a valid edge, false if all edges were visited
+         */
+        public boolean next() {
+            return ++this.index < this.edges.size();
+        }
+
+        /**
+         * retrieve the current edge
+         *
+         * @return the edge the cursor is on
+         */
+        public Edge<E, N> getEdge() {
+            return this.edges.get(this.index);
+        }
+
+        /**
+         * retrieve the node on the other side of the current edge
+         *
+         * @return the neighbor the cursor is on
+         */
+        public Node<N> getNeighbor() {
+            Edge<E, N> e = this.edges.get(this.index);
+            return e.getNode1() != this.node ? e.getNode1() : e.getNode2();
+        }
+    }
+
+    // LINK KEY -------------------------------------------------------------------------
+
+    /**
+     * Unordered pair of nodes used as key of the edge index
+     */
+    private static final class Link<N> {
+        private final Node<N> node1;
+        private final Node<N> node2;
+
+        private Link(Node<N> node1, Node<N> node2) {
+            this.node1 = node1;
+            this.node2 = node2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Link<?> l)) return false;
+            return (this.node1 == l.node1 && this.node2 == l.node2) || (this.node1 == l.node2 && this.node2 == l.node1);
+        }
+
+        @Override
+        public int hashCode() {
+            // symmetric hash so that both orders land on the same bucket
+            int h1 = System.identityHashCode(this.node1);
+            int h2 = System.identityHashCode(this.node2);
+            return (h1 ^ h2) * 31 + (h1 + h2);
+        }
     }
 
     // BUILDER --------------------------------------------------------------------------
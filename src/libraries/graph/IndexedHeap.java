@@ -0,0 +1,188 @@
+package libraries.graph;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over dense int elements with a {@code long} priority each
+ * <p>
+ * The position of every element on the heap is tracked on an {@code int[]}, so membership is O(1) and the priority
+ * of a queued element can be lowered in O(log n) by sifting it up from where it is, instead of searching it.
+ * Elements with the same priority come out in no particular order, callers needing a tie break can pack it on the low
+ * bits of the priority.
+ * </p>
+ */
+public class IndexedHeap implements MinQueue {
+
+    // heap of elements and position of each element on it, -1 when not queued
+    private final int[] heap;
+    private final int[] position;
+    private final long[] priority;
+    private int size;
+
+    /**
+     * Create an empty heap
+     *
+     * @param capacity the number of elements, elements go from 0 (inclusive) to capacity (exclusive)
+     */
+    public IndexedHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new long[capacity];
+
+        Arrays.fill(this.position, -1);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Add an element, or change its priority if it is already queued
+     *
+     * @param element the element
+     * @param priority the element priority, lower comes first
+     */
+    @Override
+    public void push(int element, long priority) {
+        int index = this.position[element];
+
+        if (index < 0) {
+            this.priority[element] = priority;
+            this.siftUp(element, this.size++);
+        } else if (priority < this.priority[element]) {
+            this.priority[element] = priority;
+            this.siftUp(element, index);
+        } else {
+            this.priority[element] = priority;
+            this.siftDown(element, index);
+        }
+    }
+
+    /**
+     * Lower the priority of a queued element
+     *
+     * @param element the element
+     * @param priority the new priority, not greater than the current one
+     */
+    public void decreaseKey(int element, long priority) {
+        int index = this.position[element];
+        if (index < 0) throw new IllegalArgumentException("element " + element + " is not queued");
+        if (priority > this.priority[element]) throw new IllegalArgumentException("priority can only decrease");
+
+        this.priority[element] = priority;
+        this.siftUp(element, index);
+    }
+
+    /**
+     * Remove the element with the lowest priority
+     *
+     * @return the element, -1 if the heap is empty
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) return -1;
+
+        int first = this.heap[0];
+        this.position[first] = -1;
+
+        // move the last element on the root and let it sink
+        int last = this.heap[--this.size];
+        if (this.size > 0) this.siftDown(last, 0);
+
+        return first;
+    }
+
+    /**
+     * Remove every element
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.size; i++) this.position[this.heap[i]] = -1;
+        this.size = 0;
+    }
+
+    /**
+     * Check if an element is queued
+     *
+     * @param element the element
+     * @return true if the element is on the heap
+     */
+    @Override
+    public boolean contains(int element) {
+        return this.position[element] >= 0;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Move an element up from a slot until its parent has a lower or equal priority
+     *
+     * @param element the element
+     * @param index the slot to start from, its content is overwritten
+     */
+    private void siftUp(int element, int index) {
+        long priority = this.priority[element];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int other = this.heap[parent];
+            if (this.priority[other] <= priority) break;
+
+            this.heap[index] = other;
+            this.position[other] = index;
+            index = parent;
+        }
+
+        this.heap[index] = element;
+        this.position[element] = index;
+    }
+
+    /**
+     * Move an element down from a slot until its children have a greater or equal priority
+     *
+     * @param element the element
+     * @param index the slot to start from, its content is overwritten
+     */
+    private void siftDown(int element, int index) {
+        long priority = this.priority[element];
+        int half = this.size >>> 1;
+
+        while (index < half) {
+            int child = 2 * index + 1;
+            int other = this.heap[child];
+            if (child + 1 < this.size && this.priority[this.heap[child + 1]] < this.priority[other]) other = this.heap[++child];
+            if (priority <= this.priority[other]) break;
+
+            this.heap[index] = other;
+            this.position[other] = index;
+            index = child;
+        }
+
+        this.heap[index] = element;
+        this.position[element] = index;
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int capacity() {
+        return this.heap.length;
+    }
+
+    /**
+     * retrieve the priority of an element
+     *
+     * @param element the element
+     * @return the priority it was last queued with
+     */
+    public long getPriority(int element) {
+        return this.priority[element];
+    }
+}
@@ -0,0 +1,40 @@
+package libraries.graph;
+
+/**
+ * Priority queue over dense int elements, lowest priority first
+ * <p>every element is queued at most once, pushing a queued element changes its priority</p>
+ */
+public interface MinQueue {
+
+    /**
+     * Add an element, or change its priority if it is already queued
+     *
+     * @param element the element
+     * @param priority the element priority, lower comes first
+     */
+    void push(int element, long priority);
+
+    /**
+     * Remove the element with the lowest priority
+     *
+     * @return the element, -1 if the queue is empty
+     */
+    int poll();
+
+    /**
+     * Check if an element is queued
+     *
+     * @param element the element
+     * @return true if the element is queued
+     */
+    boolean contains(int element);
+
+    /**
+     * Remove every element
+     */
+    void clear();
+
+    int size();
+
+    boolean isEmpty();
+}
@@ -0,0 +1,198 @@
+package libraries.maze;
+
+/**
+ * Distance and path queries on a perfect maze, answered without any search
+ * <p>
+ * A perfect maze is a spanning tree of its cells, so two cells are linked by exactly one path going through their
+ * lowest common ancestor. The tree is rooted on the start cell and every cell keeps its parent, its depth and a jump
+ * pointer to a farther ancestor, chosen so that any ancestor is reached in O(log n) hops. The index takes three
+ * {@code int} per cell, where binary lifting or an Euler tour sparse table would need O(n log n) of them. Depth and
+ * jump of a cell share a {@code long}, so a hop towards the root costs a single memory access.
+ * </p>
+ */
+public final class DistanceOracle {
+
+    // maze topology the index was built from
+    private final MazeGrid grid;
+
+    // rooted tree, the root is its own parent, depth and jump pointer packed as depth << 32 | jump
+    private final int[] parents;
+    private final long[] nodes;
+
+    /**
+     * Index the tree of a perfect maze
+     * <p>the index is a snapshot and does not follow later changes of the grid walls</p>
+     *
+     * @param grid the maze grid
+     * @throws IllegalArgumentException if the maze has loops or cells not reachable from the start
+     */
+    public DistanceOracle(MazeGrid grid) {
+        this.grid = grid;
+        int size = grid.size();
+        int width = grid.getWidth();
+        this.parents = new int[size];
+        this.nodes = new long[size];
+
+        // breadth first visit from the start, so parents are always set up before their children
+        int[] queue = new int[size];
+        int root = grid.getStart();
+        queue[0] = root;
+        this.parents[root] = root;
+        this.nodes[root] = root;
+        int head = 0;
+        int tail = 1;
+
+        long[] visited = new long[(size + 63) >>> 6];
+        visited[root >>> 6] |= 1L << root;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int sides = grid.getOpenSides(cell);
+
+            for (int direction = MazeGrid.NORTH; direction <= MazeGrid.WEST; direction <<= 1) {
+                if ((sides & direction) == 0) continue;
+
+                int next = switch (direction) {
+                    case MazeGrid.NORTH -> cell - width;
+                    case MazeGrid.SOUTH -> cell + width;
+                    case MazeGrid.EAST -> cell + 1;
+                    default -> cell - 1;
+                };
+                if (next == this.parents[cell] && cell != root) continue;
+                if ((visited[next >>> 6] & 1L << next) != 0) throw new IllegalArgumentException("maze is not perfect, it has loops");
+                visited[next >>> 6] |= 1L << next;
+
+                this.link(next, cell);
+                queue[tail++] = next;
+            }
+        }
+
+        if (tail < size) throw new IllegalArgumentException("maze is not perfect, " + (size - tail) + " cells are not reachable");
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Find the lowest common ancestor of 2 cells, the cell where their paths to the start meet
+     *
+     * @param a the first cell
+     * @param b the second cell
+     * @return the common ancestor cell
+     */
+    public int ancestor(int a, int b) {
+
+        // lift the deeper cell to the depth of the other one
+        if (this.getDepth(a) < this.getDepth(b)) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        a = this.ancestorAt(a, this.getDepth(b));
+
+        // climb together, jumps of cells at the same depth always land at the same depth
+        while (a != b) {
+            int jumpA = (int) this.nodes[a];
+            int jumpB = (int) this.nodes[b];
+            if (jumpA != jumpB) {
+                a = jumpA;
+                b = jumpB;
+            } else {
+                a = this.parents[a];
+                b = this.parents[b];
+            }
+        }
+
+        return a;
+    }
+
+    /**
+     * Measure the length of the path between 2 cells
+     *
+     * @param a the first cell
+     * @param b the second cell
+     * @return the number of steps between the 2 cells
+     */
+    public int distance(int a, int b) {
+        return this.getDepth(a) + this.getDepth(b) - 2 * this.getDepth(this.ancestor(a, b));
+    }
+
+    /**
+     * Retrieve the path between 2 cells
+     *
+     * @param a the first cell
+     * @param b the second cell
+     * @return the cells of the path in order, from a to b both included
+     */
+    public int[] path(int a, int b) {
+        int ancestor = this.ancestor(a, b);
+        int up = this.getDepth(a) - this.getDepth(ancestor);
+        int[] path = new int[up + this.getDepth(b) - this.getDepth(ancestor) + 1];
+
+        // climb from a to the ancestor, then from b to the ancestor filling the path backwards
+        for (int i = 0; i <= up; i++, a = this.parents[a]) path[i] = a;
+        for (int i = path.length - 1; i > up; i--, b = this.parents[b]) path[i] = b;
+
+        return path;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Hang a cell to its parent and choose its jump pointer
+     * <p>the jump skips as far as the jump of the parent when the parent's last 2 jumps have the same length,
+     * otherwise it points to the parent: jump lengths follow the skew binary numbers, which bounds any climb to
+     * O(log n) hops</p>
+     *
+     * @param cell the cell to hang
+     * @param parent its parent, already linked
+     */
+    private void link(int cell, int parent) {
+        int depth = this.getDepth(parent);
+        int jump = (int) this.nodes[parent];
+        int next = (int) this.nodes[jump];
+        boolean skip = depth - this.getDepth(jump) == this.getDepth(jump) - this.getDepth(next);
+        this.parents[cell] = parent;
+        this.nodes[cell] = (long) (depth + 1) << 32 | (skip ? next : parent);
+    }
+
+    /**
+     * Climb from a cell to its ancestor at a given depth
+     *
+     * @param cell the cell to start from
+     * @param depth the depth of the ancestor, not more than the depth of the cell
+     * @return the ancestor cell
+     */
+    private int ancestorAt(int cell, int depth) {
+        while (this.getDepth(cell) > depth) {
+            int jump = (int) this.nodes[cell];
+            cell = this.getDepth(jump) >= depth ? jump : this.parents[cell];
+        }
+        return cell;
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    /**
+     * retrieve the parent of a cell, on its path to the start
+     *
+     * @param cell the cell index
+     * @return the parent cell, the start cell is its own parent
+     */
+    public int getParent(int cell) {
+        return this.parents[cell];
+    }
+
+    /**
+     * retrieve the depth of a cell
+     *
+     * @param cell the cell index
+     * @return the distance from the start cell
+     */
+    public int getDepth(int cell) {
+        return (int) (this.nodes[cell] >>> 32);
+    }
+
+    public MazeGrid getGrid() {
+        return this.grid;
+    }
+}
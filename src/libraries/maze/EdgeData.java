@@ -5,6 +5,12 @@ public class EdgeData {
     // core properties
     boolean wall = false;
 
+    // backing storage, when bound the wall lives on the maze grid instead of this object
+    private MazeGrid grid = null;
+    private int x;
+    private int y;
+    private boolean south;
+
 
     /**
      * Cast a specific edge to a generic edge implementation
@@ -22,13 +28,31 @@ public class EdgeData {
         return e;
     }
 
+    /**
+     * Bind the edge to a wall of a maze grid, from now on the wall state is read and written on the grid
+     *
+     * @param grid the grid storing the wall
+     * @param x the column of the cell owning the wall
+     * @param y the row of the cell owning the wall
+     * @param south true if the edge is the south wall of the cell, false if it is the east one
+     */
+    public void bind(MazeGrid grid, int x, int y, boolean south) {
+        this.grid = grid;
+        this.x = x;
+        this.y = y;
+        this.south = south;
+    }
+
     // GETTERS / SETTERS ------------------------------------------------------
 
     // Core properties
     public boolean isWall() {
+        if (this.grid != null) return this.south ? this.grid.hasSouthWall(this.x, this.y) : this.grid.hasEastWall(this.x, this.y);
         return wall;
     }
     public void setWall(boolean wall) {
-        this.wall = wall;
+        if (this.grid == null) this.wall = wall;
+        else if (this.south) this.grid.setSouthWall(this.x, this.y, wall);
+        else this.grid.setEastWall(this.x, this.y, wall);
     }
 }
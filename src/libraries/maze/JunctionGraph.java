@@ -0,0 +1,207 @@
+package libraries.maze;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Weighted graph of the junctions of a maze, with corridors contracted into edges
+ * <p>
+ * Cells with exactly two open sides are pure corridor: every chain of them is replaced by a single edge weighted
+ * with its number of steps, linking the junctions, dead ends and entry points at its ends. On a perfect maze this
+ * leaves a small fraction of the cells, so searches expand far fewer nodes. Edges are laid out in compressed sparse
+ * row form: the edges of node {@code id} occupy slots {@code [getBegin(id), getEnd(id))}, each slot remembering the
+ * direction it leaves its node so the corridor can be walked again to expand a path back into cells.
+ * </p>
+ */
+public class JunctionGraph {
+
+    // maze topology the graph was built from
+    private final MazeGrid grid;
+
+    // dense id mapping, -1 for corridor cells
+    private final int[] cells;
+    private final int[] ids;
+
+    // adjacency
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final byte[] directions;
+
+    /**
+     * Contract the corridors of a grid
+     * <p>the start and end cells are always kept as nodes, the graph is a snapshot and does not follow later changes
+     * of the grid walls</p>
+     *
+     * @param grid the maze grid
+     */
+    public JunctionGraph(MazeGrid grid) {
+        this.grid = grid;
+        int size = grid.size();
+
+        // keep every cell that isn't a corridor, plus the entry points
+        this.ids = new int[size];
+        int count = 0;
+        for (int cell = 0; cell < size; cell++) {
+            boolean node = Integer.bitCount(grid.getOpenSides(cell)) != 2 || cell == grid.getStart() || cell == grid.getEnd();
+            this.ids[cell] = node ? count++ : -1;
+        }
+
+        this.cells = new int[count];
+        this.offsets = new int[count + 1];
+        for (int cell = 0; cell < size; cell++) {
+            int id = this.ids[cell];
+            if (id < 0) continue;
+
+            this.cells[id] = cell;
+            this.offsets[id + 1] = this.offsets[id] + Integer.bitCount(grid.getOpenSides(cell));
+        }
+
+        // follow the corridor leaving each open side of each node
+        this.targets = new int[this.offsets[count]];
+        this.weights = new int[this.targets.length];
+        this.directions = new byte[this.targets.length];
+        for (int id = 0; id < count; id++) {
+            int sides = grid.getOpenSides(this.cells[id]);
+            int slot = this.offsets[id];
+
+            for (int direction = MazeGrid.NORTH; direction <= MazeGrid.WEST; direction <<= 1) {
+                if ((sides & direction) == 0) continue;
+
+                long reached = this.walk(this.cells[id], direction, cell -> { });
+                this.targets[slot] = this.ids[(int) reached];
+                this.weights[slot] = (int) (reached >>> 32);
+                this.directions[slot++] = (byte) direction;
+            }
+        }
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Walk the corridor of an edge slot, giving every cell after its node
+     *
+     * @param id the node owning the slot
+     * @param slot the edge slot
+     * @param cells receives the cells of the corridor in order, the target node cell last
+     */
+    public void expand(int id, int slot, IntConsumer cells) {
+        if (slot < this.offsets[id] || slot >= this.offsets[id + 1]) throw new IllegalArgumentException("slot " + slot + " is not an edge of node " + id);
+        this.walk(this.cells[id], this.directions[slot], cells);
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Follow a corridor until the next node
+     *
+     * @param cell the cell to start from
+     * @param direction the open side to leave from
+     * @param cells receives every cell reached, the last one being a node
+     * @return the number of steps and the node cell reached, as {@code steps << 32 | cell}
+     */
+    private long walk(int cell, int direction, IntConsumer cells) {
+        int steps = 0;
+
+        while (true) {
+            cell = this.grid.getNeighbor(cell, direction);
+            cells.accept(cell);
+            steps++;
+            if (this.ids[cell] >= 0) return (long) steps << 32 | cell;
+
+            // a corridor has exactly one side left besides the one we came from
+            direction = this.grid.getOpenSides(cell) & ~JunctionGraph.opposite(direction);
+        }
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * retrieve the opposite of a direction
+     *
+     * @param direction one of the grid directions
+     * @return the opposite direction
+     */
+    private static int opposite(int direction) {
+        return switch (direction) {
+            case MazeGrid.NORTH -> MazeGrid.SOUTH;
+            case MazeGrid.SOUTH -> MazeGrid.NORTH;
+            case MazeGrid.EAST -> MazeGrid.WEST;
+            default -> MazeGrid.EAST;
+        };
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    /**
+     * retrieve the number of nodes
+     *
+     * @return the number of junctions, dead ends and entry points
+     */
+    public int size() {
+        return this.cells.length;
+    }
+
+    /**
+     * retrieve the cell of a node
+     *
+     * @param id the node id
+     * @return the cell index
+     */
+    public int getCell(int id) {
+        return this.cells[id];
+    }
+
+    /**
+     * retrieve the node of a cell
+     *
+     * @param cell the cell index
+     * @return the node id, -1 if the cell is part of a corridor
+     */
+    public int getId(int cell) {
+        return this.ids[cell];
+    }
+
+    /**
+     * retrieve the first edge slot of a node
+     *
+     * @param id the node id
+     * @return the first slot (inclusive)
+     */
+    public int getBegin(int id) {
+        return this.offsets[id];
+    }
+
+    /**
+     * retrieve the last edge slot of a node
+     *
+     * @param id the node id
+     * @return the last slot (exclusive)
+     */
+    public int getEnd(int id) {
+        return this.offsets[id + 1];
+    }
+
+    /**
+     * retrieve the node on the other side of an edge slot
+     *
+     * @param slot the edge slot
+     * @return the id of the linked node
+     */
+    public int getTarget(int slot) {
+        return this.targets[slot];
+    }
+
+    /**
+     * retrieve the length of the corridor of an edge slot
+     *
+     * @param slot the edge slot
+     * @return the number of steps between the 2 nodes
+     */
+    public int getWeight(int slot) {
+        return this.weights[slot];
+    }
+
+    public MazeGrid getGrid() {
+        return this.grid;
+    }
+}
@@ -1,27 +1,19 @@
 package libraries.maze;
 
-import libraries.cli.CLIBuilder;
 import libraries.graph.Edge;
 import libraries.graph.Graph;
 import libraries.graph.Node;
+import libraries.maze.render.MazeAnimator;
+import libraries.maze.render.MazeRenderer;
 
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 public class Maze<N extends NodeData, E extends EdgeData> {
 
-    // const used to handle junction char choosing (bitwise operation)
-    private static final int NORTH = 1; // 0001
-    private static final int SOUTH = 2; // 0010
-    private static final int EAST = 4;  // 0100
-    private static final int WEST = 8;  // 1000
-    private static final char[] JUNCTION_CHARS = {
-            ' ', '│', '│', '│', '─', '└', '┌', '├',
-            '─', '┘', '┐', '┤', '─', '┴', '┬', '┼'
-    };
-
     // maze dimensions
     private final int width;
     private final int height;
@@ -30,31 +22,70 @@ public class Maze<N extends NodeData, E extends EdgeData> {
     private final BiFunction<Integer, Integer, N> nodeSupplier;
     private final Supplier<E> edgeSupplier;
 
-    // main data structures graph and support matrix for visualization purpose
+    // node data views over a struct of arrays storage, if any
+    private final NodeStore store;
+    private final IntFunction<N> views;
+
+    // main data structures, walls live on the grid while graph and support matrix are built on top of it
+    private final MazeGrid grid;
     private Graph<N, E> graph;
     private List<List<Node<N>>> visualizationMatrix;
+    private MazeRenderer renderer;
 
 
     public Maze(int width, int height, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier, boolean deferInit) {
+        this(new MazeGrid(width, height), nodeSupplier, edgeSupplier, deferInit);
+    }
 
-        // pre checks
-        if (width <= 0) throw new IllegalArgumentException("width must be greater than zero");
-        if (height <= 0) throw new IllegalArgumentException("height must be greater than zero");
+    public Maze(int width, int height, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier) {
+        this(width, height, nodeSupplier, edgeSupplier, false);
+    }
 
-        // initialize variables
-        this.width = width;
-        this.height = height;
+    /**
+     * Create a maze on top of an existing grid
+     * <p>The graph is built only when first requested, until then the maze lives only on the grid bit planes</p>
+     *
+     * @param grid the grid holding the maze walls
+     * @param nodeSupplier the supplier used to create node data for each cell
+     * @param edgeSupplier the supplier used to create edge data for each wall
+     */
+    public Maze(MazeGrid grid, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier) {
+        this(grid, nodeSupplier, edgeSupplier, true);
+    }
 
-        // set node/edge classes
-        this.nodeSupplier = nodeSupplier;
-        this.edgeSupplier = edgeSupplier;
+    /**
+     * Create a maze keeping node data on a struct of arrays storage
+     * <p>node data are flyweight views over the store cells, until the graph is requested no object is kept per cell</p>
+     *
+     * @param store the store holding node data, its grid holds the maze walls
+     * @param views the function creating a view over a store cell
+     * @param edgeSupplier the supplier used to create edge data for each wall
+     */
+    public Maze(NodeStore store, IntFunction<N> views, Supplier<E> edgeSupplier) {
+        this(store.getGrid(), (x, y) -> views.apply(store.getGrid().index(x, y)), edgeSupplier, store, views);
+    }
+
+    private Maze(MazeGrid grid, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier, boolean deferInit) {
+        this(grid, nodeSupplier, edgeSupplier, null, null);
 
         // generate maze graph without data
         if(!deferInit) this.initializeEmptyMaze();
     }
 
-    public Maze(int width, int height, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier) {
-        this(width, height, nodeSupplier, edgeSupplier, false);
+    private Maze(MazeGrid grid, BiFunction<Integer, Integer, N> nodeSupplier, Supplier<E> edgeSupplier, NodeStore store, IntFunction<N> views) {
+
+        // initialize variables
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+
+        // set node/edge classes
+        this.nodeSupplier = nodeSupplier;
+        this.edgeSupplier = edgeSupplier;
+
+        // set node storage
+        this.store = store;
+        this.views = views;
     }
 
     /**
@@ -62,16 +93,11 @@ public class Maze<N extends NodeData, E extends EdgeData> {
      */
     public void show(boolean style) {
 
-        // init the maze output
-        StringBuilder builder = new StringBuilder();
+        // init the reusable maze renderer
+        if (this.renderer == null) this.renderer = new MazeRenderer(this.grid, System.out);
 
-        // generate the maze
-        this.generateMazeTopRow(builder, style);
-        this.generateMazeBody(builder, style);
-        this.generateMazeBottomRow(builder, style);
-
-        // output the maze centered
-        (new CLIBuilder()).addRow(builder.toString()).show();
+        // render the maze centered and output it
+        this.renderer.render(cell -> this.getCellGlyph(cell, style)).write(System.out);
     }
 
     /**
@@ -80,13 +106,26 @@ public class Maze<N extends NodeData, E extends EdgeData> {
      */
     public void show() { this.show(true);}
 
+    /**
+     * Create an animator drawing the maze state on a separate thread
+     * <p>the algorithm publishes its state through {@link MazeAnimator#publish()} and finishes the animation with
+     * {@link MazeAnimator#finish()}</p>
+     *
+     * @param fps the number of frames per second to draw
+     * @param style if true show also cell style, otherwise always output default style
+     * @return the animator of the maze
+     */
+    public MazeAnimator animate(int fps, boolean style) {
+        return new MazeAnimator(this.grid, cell -> this.getCellGlyph(cell, style), fps, System.out);
+    }
+
     /**
      * retrieve the node acting as start node
      *
      * @return the start node
      */
     public Node<N> getStartNode() {
-        return this.visualizationMatrix.getFirst().get(this.getStartIndex());
+        return this.getNode(this.grid.getX(this.grid.getStart()), this.grid.getY(this.grid.getStart()));
     }
 
     /**
@@ -95,18 +134,50 @@ public class Maze<N extends NodeData, E extends EdgeData> {
      * @return the end node
      */
     public Node<N> getEndNode() {
-        return this.visualizationMatrix.getLast().get(this.getEndIndex());
+        return this.getNode(this.grid.getX(this.grid.getEnd()), this.grid.getY(this.grid.getEnd()));
+    }
+
+    /**
+     * retrieve the node placed on the given cell
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @return the node of the cell
+     */
+    public Node<N> getNode(int x, int y) {
+        if (this.visualizationMatrix == null) this.initializeEmptyMaze();
+        return this.visualizationMatrix.get(y).get(x);
+    }
+
+    /**
+     * Create a typed view of the maze sharing the same topology
+     * <p>the overlay reads walls from this maze grid without copying them, while its node data live on the given store.
+     * The topology is shared so it must be treated as read only by the overlay users,
+     * any number of overlays can be attached to the same maze at once</p>
+     *
+     * @param store the store holding the overlay node data, it must be built on this maze grid
+     * @param views the function creating a view over a store cell
+     * @param edgeSupplier the supplier used to create edge data if the overlay graph is requested
+     * @return the overlay maze
+     */
+    public <NN extends NodeData, EE extends EdgeData> Maze<NN, EE> overlay(NodeStore store, IntFunction<NN> views, Supplier<EE> edgeSupplier) {
+
+        // check the store is built on the same topology
+        if (store.getGrid() != this.grid) throw new IllegalArgumentException("overlay store must be built on the maze grid");
+
+        return new Maze<>(store, views, edgeSupplier);
     }
 
     /**
      * Cast a specif maze to a base maze implementation
      *
-     * <p>this is just sugar dev for {@link #castTo(Function, Function)}
-     * passing base casters </p>
+     * <p>this is just sugar dev for {@link #overlay(NodeStore, IntFunction, Supplier)} with a base node store,
+     * walls are shared with this maze. Use {@link #castTo(Function, Function)} to get an independent copy</p>
      * @return the normalized maze
      */
     public Maze<NodeData, EdgeData> getNormalized() {
-        return this.castTo(NodeData::getNormalized, EdgeData::getNormalized);
+        NodeStore store = new NodeStore(this.grid);
+        return this.overlay(store, store::view, EdgeData::new);
     }
 
     /**
@@ -119,40 +190,42 @@ public class Maze<N extends NodeData, E extends EdgeData> {
     public <NN extends NodeData, EE extends EdgeData> Maze<NN, EE> castTo( Function<N, NN> nodeConverter, Function<E, EE> edgeConverter ) {
 
         // retrieve maze graph
-        Graph<N, E> graph = this.graph;
+        Graph<N, E> graph = this.getGraph();
 
-        // create new objects
-        Maze<NN, EE> othMaze = new Maze<>(this.width, this.height, null, null, true);
+        // create new objects, walls are copied in bulk from the grid
+        Maze<NN, EE> othMaze = new Maze<>(new MazeGrid(this.grid), null, null, true);
         Graph<NN, EE> othGraph = new Graph.Builder<NN, EE>().build();
         List<List<Node<NN>>> othVisualizationMatrix = new ArrayList<>();
 
-        // create support data structure
-        Map<Node<N>, Node<NN>> nodeMap = new HashMap<>();
-
         // Convert all nodes
         for (List<Node<N>> row : this.visualizationMatrix) {
             List<Node<NN>> othRow = new ArrayList<>();
             for (Node<N> nNode : row) {
 
-                // parse node
-                Node<NN> othNode = new Node<>(nodeConverter.apply(nNode.getValue()));
-
-                // add to data structures
-                othGraph.addNode(othNode);
-                othRow.add(othNode);
-
-                // save to support structure
-                nodeMap.put(nNode, othNode);
+                // parse node and add it to data structures
+                othRow.add(othGraph.addNode(new Node<>(nodeConverter.apply(nNode.getValue()))));
             }
 
             othVisualizationMatrix.add(othRow);
         }
 
-        // Convert all edges
-        for (Edge<E, N> sourceEdge : graph.getEdges()) {
-            Node<NN> othNode1 = nodeMap.get(sourceEdge.getNode1());
-            Node<NN> othNode2 = nodeMap.get(sourceEdge.getNode2());
-            othGraph.addEdge(new Edge<>(othNode1, othNode2, edgeConverter.apply(sourceEdge.getValue())));
+        // Convert all edges binding them to the copied grid
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                Node<N> n = this.visualizationMatrix.get(y).get(x);
+
+                if (x + 1 < this.width) {
+                    EE e = edgeConverter.apply(graph.getLinkEdge(n, this.visualizationMatrix.get(y).get(x + 1)).orElseThrow().getValue());
+                    e.bind(othMaze.grid, x, y, false);
+                    othGraph.addEdge(new Edge<>(othVisualizationMatrix.get(y).get(x), othVisualizationMatrix.get(y).get(x + 1), e));
+                }
+
+                if (y + 1 < this.height) {
+                    EE e = edgeConverter.apply(graph.getLinkEdge(n, this.visualizationMatrix.get(y + 1).get(x)).orElseThrow().getValue());
+                    e.bind(othMaze.grid, x, y, true);
+                    othGraph.addEdge(new Edge<>(othVisualizationMatrix.get(y).get(x), othVisualizationMatrix.get(y + 1).get(x), e));
+                }
+            }
         }
 
         // replace graph and visualization matrix
@@ -166,150 +239,44 @@ public class Maze<N extends NodeData, E extends EdgeData> {
     // PRIVATE METHODS --------------------------------------------------------
 
     /**
-     * Generate maze main body based on current graph state
+     * retrieve the string representing a cell
+     * <p>if the graph was not built yet and there is no node store only entry points are styled</p>
      *
-     * @param builder the builder object containing the maze
+     * @param cell the cell index
      * @param style if true show also cell style, otherwise always output default style
+     * @return the cell representation
      */
-    private void generateMazeBody(StringBuilder builder, boolean style) {
-
-        for(int y = 0; y < this.height; y++) {
-
-            StringBuilder divider = new StringBuilder();
-            Edge<E, N> startWall = y + 1 < this.height ?
-                    this.graph.getLinkEdge(this.visualizationMatrix.get(y).getFirst(), this.visualizationMatrix.get(y + 1).getFirst()).orElse(null)
-                    : null;
-            Edge<E, N> endWall = y + 1 < this.height ?
-                    this.graph.getLinkEdge(this.visualizationMatrix.get(y).getLast(), this.visualizationMatrix.get(y + 1).getLast()).orElse(null)
-                    : null;
+    private String getCellGlyph(int cell, boolean style) {
 
-            // append start of the maze
-            builder.append("│");
+        // use node data if available
+        if (this.graph != null) return this.getCellNode(cell).getValue().toString(style);
+        else if (this.views != null) return this.views.apply(cell).toString(style);
 
-            divider.append(startWall != null && startWall.getValue().isWall() ? "├" : "│");
-
-            for(int x = 0; x < this.width; x++) {
-
-                // retrieve current node
-                Node<N> n = this.visualizationMatrix.get(y).get(x);
-
-                // taking as center the junction on the right of current cell find all walls
-                Edge<E, N> northWall = x + 1 < this.width ?
-                        this.graph.getLinkEdge(n, this.visualizationMatrix.get(y).get(x + 1)).orElse(null)
-                        : null;
-                Edge<E, N> westWall = y + 1 < this.height ?
-                        this.graph.getLinkEdge(n, this.visualizationMatrix.get(y + 1).get(x)).orElse(null)
-                        : null;
-                Edge<E, N> southWall = y + 1 < this.height && x + 1 < this.width ?
-                        this.graph.getLinkEdge(this.visualizationMatrix.get(y + 1).get(x), this.visualizationMatrix.get(y + 1).get(x + 1)).orElse(null)
-                        : null;
-                Edge<E, N> eastWall = y + 1 < this.height && x + 1 < this.width ?
-                        this.graph.getLinkEdge(this.visualizationMatrix.get(y).get(x + 1), this.visualizationMatrix.get(y + 1).get(x + 1)).orElse(null)
-                        : null;
-
-                // append current node and right wall if exists on the next node
-                builder.append(n.getValue().toString(style));
-
-                // append walls between cells if they exists
-                builder.append(northWall == null || northWall.getValue().isWall() ? "│" : " ");
-                divider.append(westWall == null || westWall.getValue().isWall() ? "─" : " ");
-
-                // add join char
-                if (y < this.height - 1 && x < this.width - 1) {
-                    char j = Maze.getJunctionChar(
-                    northWall != null && northWall.getValue().isWall(),
-                    southWall != null && southWall.getValue().isWall(),
-                    eastWall != null && eastWall.getValue().isWall(),
-                    westWall != null && westWall.getValue().isWall()
-                    );
-                    divider.append(j);
-                } else if (x < this.width -1) {
-                    divider.append("─");
-                }
-            }
+        if (cell == this.grid.getEnd()) return NodeData.STYLE_END;
+        else if (cell == this.grid.getStart()) return NodeData.STYLE_START;
 
-            // next line both lines;
-            builder.append("\n");
-            divider.append(endWall != null && endWall.getValue().isWall() ? "┤" : "│");
-            divider.append("\n");
-
-            // append to main object the divider row created by cycling previous nodes if we are not on last row since last row is handled after
-            if(y < this.height - 1) builder.append(divider);
-        }
-    }
-
-    /**
-     * Generate last row of the maze
-     *
-     * @param builder the builder object containing the maze
-     * @param style if true show also cell style, otherwise always output default style
-     */
-    private void generateMazeBottomRow(StringBuilder builder, boolean style) {
-        // create last line
-        builder.append("╰");
-
-        for(int i = 0; i < this.width; i++) {
-            // retrieve current node and right wall
-            Node<N> n = this.visualizationMatrix.getLast().get(i);
-            Edge<E, N> rightEdge = i + 1 < this.width ?
-                    this.graph.getLinkEdge(n, this.visualizationMatrix.getLast().get(i + 1)).orElse(null)
-                    : null;
-
-            // print maze edge or entrance
-            builder.append(!n.getValue().isEnd() ? "─" : " ");
-
-            // print correct join char
-            if(i < this.width - 1) builder.append(rightEdge != null && rightEdge.getValue().isWall() ? '┴' : '─');
-        }
-
-        builder.append("╯\n");
+        return NodeData.STYLE_DEF;
     }
 
     /**
-     * Generate first row of the maze
+     * retrieve the graph node of a cell, the graph must be already built
      *
-     * @param builder the builder object containing maze
-     * @param style if true show also cell style, otherwise always output default style
+     * @param cell the cell index
+     * @return the node of the cell
      */
-    private void generateMazeTopRow(StringBuilder builder, boolean style) {
-        builder.append("╭");
-
-        for(int i = 0; i < this.width; i++) {
-            // retrieve current node and right wall
-            Node<N> n = this.visualizationMatrix.getFirst().get(i);
-            Edge<E, N> rightEdge = i + 1 < this.width ?
-                    this.graph.getLinkEdge(n, this.visualizationMatrix.getFirst().get(i + 1)).orElse(null)
-                    : null;
-
-            // print maze edge or entrance
-            builder.append(!n.getValue().isStart() ? "─" : " ");
-
-            // print correct join char
-            if(i < this.width - 1) builder.append(rightEdge != null && rightEdge.getValue().isWall() ? "┬" : "─");
-        }
-
-        builder.append("╮\n");
+    private Node<N> getCellNode(int cell) {
+        return this.visualizationMatrix.get(this.grid.getY(cell)).get(this.grid.getX(cell));
     }
 
     /**
-     * decide the index where to place the start of the maze
-     *
-     * @return the index where to place the start of the maze
-     */
-    private int getStartIndex() { return 1; }
-
-    /**
-     * decide the index where to place the end of the maze
-     *
-     * @return the index where to place the end of the maze
-     */
-    private int getEndIndex() { return this.width - 2; }
-
-    /**
-     * Initialize an empty graph containing
+     * Initialize the graph on top of the maze grid
+     * <p>every edge is bound to the grid so that walls are read and written on the grid bit planes</p>
      */
     private void initializeEmptyMaze(){
 
+        // check if a node supplier was given
+        if (this.nodeSupplier == null) throw new IllegalStateException("to build the maze graph you need to provide a valid node supplier");
+
         // initialize some support data
         Map<Integer, Node<N>> prev_y = new HashMap<>();
         Node<N> prev_x = null;
@@ -329,10 +296,10 @@ public class Maze<N extends NodeData, E extends EdgeData> {
                 Node<N> n = this.graph.addNode(this.nodeSupplier.apply(x, y));
 
                 // add connection between upper node and the current one
-                if(y > 0) this.graph.linkNodes(n, prev_y.get(x));
+                if(y > 0) this.graph.linkNodes(n, prev_y.get(x)).getValue().bind(this.grid, x, y - 1, true);
 
                 // add connections between the left node and the current one
-                if(x > 0) this.graph.linkNodes(n, prev_x);
+                if(x > 0) this.graph.linkNodes(n, prev_x).getValue().bind(this.grid, x - 1, y, false);
 
                 // save the node ref also into a support matrix to easy visualization
                 row.add(n);
@@ -347,33 +314,11 @@ public class Maze<N extends NodeData, E extends EdgeData> {
         }
 
         // create main entry points
-        this.visualizationMatrix.getFirst().get(this.getStartIndex()).getValue().setStart(true);
-        this.visualizationMatrix.getLast().get(this.getEndIndex()).getValue().setEnd(true);
+        this.getCellNode(this.grid.getStart()).getValue().setStart(true);
+        this.getCellNode(this.grid.getEnd()).getValue().setEnd(true);
 
     }
 
-    // STATIC METHODS ---------------------------------------------------------
-
-    /**
-     * Decide Maze junction character during maze visualization using bitwise operation
-     *
-     * @param hasNorth true if north wall is up, false otherwise
-     * @param hasSouth true if south wall is up, false otherwise
-     * @param hasEast true if east wall is up, false otherwise
-     * @param hasWest true if west wall is up, false otherwise
-     * @return the junction character
-     */
-    private static char getJunctionChar(boolean hasNorth, boolean hasSouth, boolean hasEast, boolean hasWest) {
-        int index = 0;
-
-        if (hasNorth) index |= Maze.NORTH;
-        if (hasSouth) index |= Maze.SOUTH;
-        if (hasEast)  index |= Maze.EAST;
-        if (hasWest)  index |= Maze.WEST;
-
-        return Maze.JUNCTION_CHARS[index];
-    }
-
     // GETTERS / SETTERS ------------------------------------------------------
 
     public int getWidth() {
@@ -385,6 +330,15 @@ public class Maze<N extends NodeData, E extends EdgeData> {
     }
 
     public Graph<N, E> getGraph() {
+        if (this.graph == null) this.initializeEmptyMaze();
         return graph;
     }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public NodeStore getStore() {
+        return store;
+    }
 }
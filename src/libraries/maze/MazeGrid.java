@@ -0,0 +1,330 @@
+package libraries.maze;
+
+import java.util.Arrays;
+
+/**
+ * Grid native storage of a maze topology.
+ * <p>
+ * Cells are identified by a dense index ({@code y * width + x}) and neighbors are implicit from the cell position.
+ * Walls are stored as two bit planes: the east plane tracks the wall between {@code (x, y)} and {@code (x + 1, y)},
+ * the south plane tracks the wall between {@code (x, y)} and {@code (x, y + 1)}.
+ * Every row starts on a new {@code long} word so a row can be read or written one 64-cell word at a time.
+ * The outer border is never stored and is always reported as a wall.
+ * </p>
+ */
+public class MazeGrid {
+
+    // directions, same bit layout used for junction choosing during visualization
+    public static final int NORTH = 1; // 0001
+    public static final int SOUTH = 2; // 0010
+    public static final int EAST = 4;  // 0100
+    public static final int WEST = 8;  // 1000
+
+    // grid dimensions
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+
+    // wall bit planes
+    private final long[] eastWalls;
+    private final long[] southWalls;
+
+    // maze entry points
+    private int start;
+    private int end;
+
+    public MazeGrid(int width, int height) {
+
+        // pre checks
+        if (width <= 0) throw new IllegalArgumentException("width must be greater than zero");
+        if (height <= 0) throw new IllegalArgumentException("height must be greater than zero");
+        if ((long) width * height > Integer.MAX_VALUE) throw new IllegalArgumentException("maze is too big to be indexed");
+
+        // initialize variables
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+
+        // all walls are down by default
+        this.eastWalls = new long[this.wordsPerRow * height];
+        this.southWalls = new long[this.wordsPerRow * height];
+
+        // default entry points on the top and bottom rows
+        this.start = Math.min(1, width - 1);
+        this.end = (height - 1) * width + Math.max(width - 2, 0);
+    }
+
+    /**
+     * Create a copy of another grid
+     *
+     * @param grid the grid to copy
+     */
+    public MazeGrid(MazeGrid grid) {
+        this.width = grid.width;
+        this.height = grid.height;
+        this.wordsPerRow = grid.wordsPerRow;
+        this.eastWalls = grid.eastWalls.clone();
+        this.southWalls = grid.southWalls.clone();
+        this.start = grid.start;
+        this.end = grid.end;
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * retrieve the dense index of a cell
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @return the cell index
+     */
+    public int index(int x, int y) {
+        return y * this.width + x;
+    }
+
+    /**
+     * retrieve the column of a cell
+     *
+     * @param cell the cell index
+     * @return the cell column
+     */
+    public int getX(int cell) {
+        return cell % this.width;
+    }
+
+    /**
+     * retrieve the row of a cell
+     *
+     * @param cell the cell index
+     * @return the cell row
+     */
+    public int getY(int cell) {
+        return cell / this.width;
+    }
+
+    /**
+     * retrieve the number of cells of the grid
+     *
+     * @return the number of cells
+     */
+    public int size() {
+        return this.width * this.height;
+    }
+
+    /**
+     * check if the wall between the cell and its east neighbor is up
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @return true if there is a wall, always true on the east border
+     */
+    public boolean hasEastWall(int x, int y) {
+        if (x >= this.width - 1) return true;
+        return (this.eastWalls[this.word(x, y)] & (1L << x)) != 0;
+    }
+
+    /**
+     * raise or remove the wall between the cell and its east neighbor
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @param wall true to raise the wall, false to open a passage
+     */
+    public void setEastWall(int x, int y, boolean wall) {
+        if (x >= this.width - 1) throw new IllegalArgumentException("east border can't be changed");
+        MazeGrid.setBit(this.eastWalls, this.word(x, y), x, wall);
+    }
+
+    /**
+     * check if the wall between the cell and its south neighbor is up
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @return true if there is a wall, always true on the south border
+     */
+    public boolean hasSouthWall(int x, int y) {
+        if (y >= this.height - 1) return true;
+        return (this.southWalls[this.word(x, y)] & (1L << x)) != 0;
+    }
+
+    /**
+     * raise or remove the wall between the cell and its south neighbor
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @param wall true to raise the wall, false to open a passage
+     */
+    public void setSouthWall(int x, int y, boolean wall) {
+        if (y >= this.height - 1) throw new IllegalArgumentException("south border can't be changed");
+        MazeGrid.setBit(this.southWalls, this.word(x, y), x, wall);
+    }
+
+    /**
+     * check if a cell has a wall on the given side
+     *
+     * @param cell the cell index
+     * @param direction one of {@link #NORTH}, {@link #SOUTH}, {@link #EAST}, {@link #WEST}
+     * @return true if the side is closed
+     */
+    public boolean hasWall(int cell, int direction) {
+        int x = this.getX(cell);
+        int y = this.getY(cell);
+
+        return switch (direction) {
+            case MazeGrid.NORTH -> y == 0 || this.hasSouthWall(x, y - 1);
+            case MazeGrid.SOUTH -> this.hasSouthWall(x, y);
+            case MazeGrid.EAST -> this.hasEastWall(x, y);
+            case MazeGrid.WEST -> x == 0 || this.hasEastWall(x - 1, y);
+            default -> throw new IllegalArgumentException("invalid direction " + direction);
+        };
+    }
+
+    /**
+     * raise or remove the wall between a cell and one of its neighbors
+     *
+     * @param cell the cell index
+     * @param direction one of {@link #NORTH}, {@link #SOUTH}, {@link #EAST}, {@link #WEST}
+     * @param wall true to raise the wall, false to open a passage
+     */
+    public void setWall(int cell, int direction, boolean wall) {
+        int x = this.getX(cell);
+        int y = this.getY(cell);
+
+        switch (direction) {
+            case MazeGrid.NORTH -> this.setSouthWall(x, y - 1, wall);
+            case MazeGrid.SOUTH -> this.setSouthWall(x, y, wall);
+            case MazeGrid.EAST -> this.setEastWall(x, y, wall);
+            case MazeGrid.WEST -> this.setEastWall(x - 1, y, wall);
+            default -> throw new IllegalArgumentException("invalid direction " + direction);
+        }
+    }
+
+    /**
+     * retrieve the neighbor of a cell in the given direction, ignoring walls
+     *
+     * @param cell the cell index
+     * @param direction one of {@link #NORTH}, {@link #SOUTH}, {@link #EAST}, {@link #WEST}
+     * @return the neighbor index or -1 if the cell is on the border
+     */
+    public int getNeighbor(int cell, int direction) {
+        int x = this.getX(cell);
+        int y = this.getY(cell);
+
+        return switch (direction) {
+            case MazeGrid.NORTH -> y > 0 ? cell - this.width : -1;
+            case MazeGrid.SOUTH -> y < this.height - 1 ? cell + this.width : -1;
+            case MazeGrid.EAST -> x < this.width - 1 ? cell + 1 : -1;
+            case MazeGrid.WEST -> x > 0 ? cell - 1 : -1;
+            default -> throw new IllegalArgumentException("invalid direction " + direction);
+        };
+    }
+
+    /**
+     * retrieve the open sides of a cell
+     *
+     * @param cell the cell index
+     * @return a bitmask of {@link #NORTH}, {@link #SOUTH}, {@link #EAST}, {@link #WEST} without a wall
+     */
+    public int getOpenSides(int cell) {
+        int x = this.getX(cell);
+        int y = this.getY(cell);
+        int sides = 0;
+
+        if (y > 0 && !this.hasSouthWall(x, y - 1)) sides |= MazeGrid.NORTH;
+        if (!this.hasSouthWall(x, y)) sides |= MazeGrid.SOUTH;
+        if (!this.hasEastWall(x, y)) sides |= MazeGrid.EAST;
+        if (x > 0 && !this.hasEastWall(x - 1, y)) sides |= MazeGrid.WEST;
+
+        return sides;
+    }
+
+    /**
+     * raise or remove every wall inside the maze
+     *
+     * @param wall true to close every passage, false to open all of them
+     */
+    public void fill(boolean wall) {
+        Arrays.fill(this.eastWalls, wall ? -1L : 0L);
+        Arrays.fill(this.southWalls, wall ? -1L : 0L);
+    }
+
+    /**
+     * overwrite walls and entry points with the ones of another grid of the same size
+     *
+     * @param grid the grid to copy
+     */
+    public void copyFrom(MazeGrid grid) {
+        if (grid.width != this.width || grid.height != this.height) throw new IllegalArgumentException("grids must have the same size");
+
+        System.arraycopy(grid.eastWalls, 0, this.eastWalls, 0, this.eastWalls.length);
+        System.arraycopy(grid.southWalls, 0, this.southWalls, 0, this.southWalls.length);
+        this.start = grid.start;
+        this.end = grid.end;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * retrieve the word holding the bit of a cell
+     *
+     * @param x the cell column
+     * @param y the cell row
+     * @return the word index on the bit planes
+     */
+    private int word(int x, int y) {
+        return y * this.wordsPerRow + (x >>> 6);
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Set or clear a bit on a plane
+     *
+     * @param plane the bit plane
+     * @param word the word index
+     * @param bit the bit index (only the lowest 6 bits are used)
+     * @param value the value to set
+     */
+    private static void setBit(long[] plane, int word, int bit, boolean value) {
+        if (value) plane[word] |= 1L << bit;
+        else plane[word] &= ~(1L << bit);
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public int getWordsPerRow() {
+        return this.wordsPerRow;
+    }
+
+    public long[] getEastWalls() {
+        return this.eastWalls;
+    }
+
+    public long[] getSouthWalls() {
+        return this.southWalls;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+}
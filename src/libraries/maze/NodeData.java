@@ -12,8 +12,12 @@ public class NodeData {
     // MEMBERS ----------------------------------------------------------------
     private boolean start;
     private boolean end;
-    private int x;
-    private int y;
+    private final int x;
+    private final int y;
+
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+    private final int id;
 
     public NodeData(int x, int y) {
 
@@ -25,6 +29,24 @@ public class NodeData {
         this.start = false;
         this.end = false;
 
+        // no backing storage
+        this.store = null;
+        this.id = -1;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        this.store = store;
+        this.id = id;
+
+        // position is given by the cell
+        this.x = -1;
+        this.y = -1;
     }
 
     // STATIC METHODS ---------------------------------------------------------
@@ -61,16 +83,22 @@ public class NodeData {
         return NodeData.STYLE_DEF;
     }
 
-    public void setStart(boolean start) { this.start = start; }
-    public boolean isStart() { return this.start; }
+    public void setStart(boolean start) {
+        if (this.store != null) this.store.setStart(this.id, start);
+        else this.start = start;
+    }
+    public boolean isStart() { return this.store != null ? this.store.isStart(this.id) : this.start; }
+
+    public boolean isEnd() { return this.store != null ? this.store.isEnd(this.id) : this.end; }
+    public void setEnd(boolean end) {
+        if (this.store != null) this.store.setEnd(this.id, end);
+        else this.end = end;
+    }
 
-    public boolean isEnd() { return end; }
-    public void setEnd(boolean end) { this.end = end; }
+    public int getX() { return this.store != null ? this.store.getX(this.id) : x; }
 
-    public int getX() { return x; }
-    public void setX(int x) { this.x = x; }
+    public int getY() { return this.store != null ? this.store.getY(this.id) : y; }
 
-    public int getY() { return y; }
-    public void setY(int y) { this.y = y; }
+    public int getId() { return this.id; }
 
 }
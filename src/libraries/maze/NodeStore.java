@@ -0,0 +1,98 @@
+package libraries.maze;
+
+/**
+ * Struct of arrays storage for node data
+ * <p>
+ * Per cell attributes live in primitive arrays indexed by the dense cell index of a {@link MazeGrid},
+ * while {@link NodeData} objects become lightweight views over an index obtained through {@link #view(int)}.
+ * Node position is derived from the index, subclasses add the attributes needed by their algorithm.
+ * </p>
+ */
+public class NodeStore {
+
+    // grid the cells belong to
+    protected final MazeGrid grid;
+
+    // core properties
+    private final long[] start;
+    private final long[] end;
+
+    public NodeStore(MazeGrid grid) {
+        this.grid = grid;
+
+        // entry points are taken from the grid
+        this.start = NodeStore.newBits(grid.size());
+        this.end = NodeStore.newBits(grid.size());
+        NodeStore.setBit(this.start, grid.getStart(), true);
+        NodeStore.setBit(this.end, grid.getEnd(), true);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Create a node data view over a cell of the store
+     *
+     * @param id the cell index
+     * @return the node data reading and writing on the store
+     */
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    /**
+     * retrieve the number of cells of the store
+     *
+     * @return the number of cells
+     */
+    public int size() {
+        return this.grid.size();
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Create a bit array able to hold a flag for each cell
+     *
+     * @param size the number of cells
+     * @return the bit array with all flags cleared
+     */
+    protected static long[] newBits(int size) {
+        return new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Read a flag from a bit array
+     *
+     * @param bits the bit array
+     * @param id the cell index
+     * @return the flag value
+     */
+    protected static boolean getBit(long[] bits, int id) {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Write a flag on a bit array
+     *
+     * @param bits the bit array
+     * @param id the cell index
+     * @param value the flag value
+     */
+    protected static void setBit(long[] bits, int id, boolean value) {
+        if (value) bits[id >>> 6] |= 1L << id;
+        else bits[id >>> 6] &= ~(1L << id);
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public MazeGrid getGrid() { return this.grid; }
+
+    public int getX(int id) { return this.grid.getX(id); }
+    public int getY(int id) { return this.grid.getY(id); }
+
+    public boolean isStart(int id) { return NodeStore.getBit(this.start, id); }
+    public void setStart(int id, boolean start) { NodeStore.setBit(this.start, id, start); }
+
+    public boolean isEnd(int id) { return NodeStore.getBit(this.end, id); }
+    public void setEnd(int id, boolean end) { NodeStore.setBit(this.end, id, end); }
+}
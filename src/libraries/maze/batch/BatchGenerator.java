@@ -0,0 +1,140 @@
+package libraries.maze.batch;
+
+import libraries.maze.MazeGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates many mazes concurrently
+ * <p>
+ * Every job runs as its own task creating its own generator and grid, so jobs share nothing but the sink and a job
+ * failing never stops the others. Jobs can run on virtual threads, one per job, or on a bounded pool of platform
+ * threads; generation is cpu bound, so both end up using as many threads as processors, virtual threads just make
+ * the batch size irrelevant for memory held by threads. Generators forking their own tasks, like the parallel and
+ * concurrent ones, wait for the common pool while other jobs keep it busy, which shows on the tail latency.
+ * </p>
+ */
+public class BatchGenerator implements AutoCloseable {
+
+    // executor running the jobs
+    private final ExecutorService executor;
+
+    /**
+     * Create a batch generator running jobs on a given executor
+     * <p>the executor is shut down when the batch generator is closed</p>
+     *
+     * @param executor the executor
+     */
+    public BatchGenerator(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Run a batch, waiting for all of its jobs
+     *
+     * @param jobs the mazes to generate
+     * @param sink where finished mazes go
+     * @return the batch report
+     * @throws InterruptedException if the caller is interrupted while waiting, jobs not started yet are cancelled
+     */
+    public BatchReport run(List<MazeJob> jobs, MazeSink sink) throws InterruptedException {
+        long[] latencies = new long[jobs.size()];
+        List<BatchReport.Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>(jobs.size());
+        long start = System.nanoTime();
+
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                futures.add(this.executor.submit(() -> latencies[index] = BatchGenerator.generate(jobs.get(index), sink, failures)));
+            }
+
+            // every slot of the latencies is written by its own job before its future completes
+            for (Future<?> future : futures) future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("a batch job escaped its error handling", e.getCause());
+        } finally {
+            for (Future<?> future : futures) future.cancel(true);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new BatchReport(jobs.size(), List.copyOf(failures), seconds, BatchGenerator.percentile(latencies, 0.50), BatchGenerator.percentile(latencies, 0.99));
+    }
+
+    /**
+     * Shut the executor down, waiting for running jobs
+     */
+    @Override
+    public void close() {
+        this.executor.close();
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Create a batch generator running each job on its own virtual thread
+     *
+     * @return the batch generator
+     */
+    public static BatchGenerator onVirtualThreads() {
+        return new BatchGenerator(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Create a batch generator running jobs on a fork join pool of fixed parallelism
+     *
+     * @param threads the number of threads
+     * @return the batch generator
+     */
+    public static BatchGenerator onPool(int threads) {
+        return new BatchGenerator(new ForkJoinPool(threads));
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Generate a maze and hand it to the sink, recording any error as a failure
+     *
+     * @param job the job to run
+     * @param sink where the maze goes
+     * @param failures the failures of the batch
+     * @return the job latency in nanoseconds
+     */
+    private static long generate(MazeJob job, MazeSink sink, List<BatchReport.Failure> failures) {
+        long start = System.nanoTime();
+
+        try {
+            MazeGrid grid = job.factory().create(job.width(), job.height(), job.seed()).start().getGrid();
+            sink.accept(job, grid);
+        } catch (Exception e) {
+            failures.add(new BatchReport.Failure(job, e));
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * read a percentile from sorted values
+     *
+     * @param sorted the values in nanoseconds, sorted
+     * @param rank the percentile, between 0 and 1
+     * @return the value in milliseconds, 0 if there are no values
+     */
+    private static double percentile(long[] sorted, double rank) {
+        if (sorted.length == 0) return 0;
+
+        int index = Math.max(0, (int) Math.ceil(rank * sorted.length) - 1);
+        return sorted[index] / 1e6;
+    }
+}
@@ -0,0 +1,38 @@
+package libraries.maze.batch;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch run
+ * <p>latencies are measured from the start of a job to the end of its sink call, failed jobs included</p>
+ *
+ * @param jobs the number of jobs
+ * @param failures the jobs that failed, with their error
+ * @param seconds the wall clock time of the whole batch
+ * @param p50 the median job latency in milliseconds
+ * @param p99 the 99th percentile job latency in milliseconds
+ */
+public record BatchReport(int jobs, List<Failure> failures, double seconds, double p50, double p99) {
+
+    /**
+     * A job that failed
+     *
+     * @param job the job
+     * @param error what went wrong
+     */
+    public record Failure(MazeJob job, Throwable error) { }
+
+    /**
+     * retrieve the throughput of the batch
+     *
+     * @return the number of mazes finished per second, failed jobs excluded
+     */
+    public double getMazesPerSecond() {
+        return (this.jobs - this.failures.size()) / this.seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d mazes in %.2f s, %.1f mazes/s, p50 %.2f ms, p99 %.2f ms, %d failed", this.jobs - this.failures.size(), this.seconds, this.getMazesPerSecond(), this.p50, this.p99, this.failures.size());
+    }
+}
@@ -0,0 +1,24 @@
+package libraries.maze.batch;
+
+import libraries.maze.generators.MazeGeneratorFactory;
+
+/**
+ * A maze to generate in a batch
+ *
+ * @param algorithm the name of the generator, used to name the output
+ * @param factory the generator factory
+ * @param width the maze width
+ * @param height the maze height
+ * @param seed the random source seed
+ */
+public record MazeJob(String algorithm, MazeGeneratorFactory factory, int width, int height, long seed) {
+
+    /**
+     * retrieve a name identifying the job output
+     *
+     * @return the name, made of algorithm, size and seed
+     */
+    public String getName() {
+        return String.format("%s-%dx%d-%d", this.algorithm, this.width, this.height, this.seed);
+    }
+}
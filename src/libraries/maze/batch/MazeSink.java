@@ -0,0 +1,60 @@
+package libraries.maze.batch;
+
+import libraries.maze.MazeGrid;
+import libraries.maze.io.MazeFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Destination of the mazes generated by a batch
+ * <p>jobs finish on many threads at once, so implementations must be thread safe</p>
+ */
+@FunctionalInterface
+public interface MazeSink {
+
+    /**
+     * Receive a finished maze
+     * <p>the grid belongs to the job only, the sink can keep it</p>
+     *
+     * @param job the job that generated the maze
+     * @param grid the maze grid
+     * @throws IOException if the maze can't be stored
+     */
+    void accept(MazeJob job, MazeGrid grid) throws IOException;
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Sink saving each maze in the binary maze format, as {@code <job name>.maze} in a directory
+     *
+     * @param directory the directory to write to, created if missing
+     * @return the sink
+     * @throws IOException if the directory can't be created
+     */
+    static MazeSink toDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return (job, grid) -> MazeFile.save(grid, job.seed(), directory.resolve(job.getName() + ".maze"));
+    }
+
+    /**
+     * Sink keeping each maze in memory, as a maze file ready to be saved or turned into a maze
+     *
+     * @param mazes the map receiving the mazes by job, it must support concurrent updates
+     * @return the sink
+     */
+    static MazeSink toMap(Map<MazeJob, MazeFile> mazes) {
+        return (job, grid) -> mazes.put(job, new MazeFile(grid, job.seed()));
+    }
+
+    /**
+     * Sink dropping every maze, to measure generation alone
+     *
+     * @return the sink
+     */
+    static MazeSink discard() {
+        return (job, grid) -> { };
+    }
+}
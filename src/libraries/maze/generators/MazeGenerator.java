@@ -1,10 +1,13 @@
 package libraries.maze.generators;
 
-import libraries.cli.CLI;
 import libraries.graph.Graph;
 import libraries.maze.EdgeData;
 import libraries.maze.Maze;
 import libraries.maze.NodeData;
+import libraries.maze.render.MazeAnimator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Abstract class for maze generators.
@@ -15,24 +18,30 @@ import libraries.maze.NodeData;
  */
 public abstract class MazeGenerator<N extends NodeData, E extends EdgeData> implements MazeGeneratorInterface<N, E> {
 
-    /**
-     * number of changes per second to display
-     */
-    public static final int CPS = 10;
-
     // maze dimensions
     protected int width;
     protected int height;
 
+    // random source seed, the same seed and dimensions always generate the same maze
+    protected long seed;
+
     // data structures
     protected Maze<N, E> maze;
-    protected Graph<N, E> graph;
+
+    // visualization
+    protected int fps = MazeAnimator.DEFAULT_FPS;
+    private MazeAnimator animator;
 
     // PUBLIC FUNCTIONS -----------------------------------------------------------------
 
     public MazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public MazeGenerator(int width, int height, long seed) {
         this.width = width;
         this.height = height;
+        this.seed = seed;
     }
 
     /**
@@ -56,20 +65,28 @@ public abstract class MazeGenerator<N extends NodeData, E extends EdgeData> impl
     // PROTECTED FUNCTIONS --------------------------------------------------------------
 
     /**
-     * Show the maze current state on the CLI
+     * Create the random source of a run
+     * <p>generators should create it once at the start of each run and draw every random choice from it, so that a
+     * run can be reproduced from its seed</p>
+     *
+     * @return a new random source seeded with the generator seed
+     */
+    protected SplittableRandom newRandom() {
+        return new SplittableRandom(this.seed);
+    }
+
+    /**
+     * Publish the maze current state to the CLI animation
+     * <p>frames are drawn on a separate thread at {@link #getFps()} frames per second, this call never waits for the
+     * terminal and steps happening while a frame is drawn are skipped</p>
      *
      * @param style if we need to show all styles or only the default ones
      */
     protected void show(boolean style) {
-        CLI.clear();
-        if (CLI.LOGO != null) CLI.out(CLI.LOGO);
 
-        this.maze.show(style);
-        try {
-            Thread.sleep(1000 / MazeGenerator.CPS);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        // start the animation on the first step
+        if (this.animator == null) this.animator = this.maze.animate(this.fps, style);
+        this.animator.publish();
     }
 
     /**
@@ -81,6 +98,31 @@ public abstract class MazeGenerator<N extends NodeData, E extends EdgeData> impl
         this.show(true);
     }
 
+    /**
+     * Stop the CLI animation drawing the final maze state
+     * <p>should be called at the end of a visualized run, it does nothing if nothing was shown</p>
+     */
+    protected void finish() {
+        if (this.animator == null) return;
+
+        this.animator.finish();
+        this.animator = null;
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * scale 32 random bits to an index, with a multiply and shift instead of the modulo of
+     * {@link SplittableRandom#nextInt(int)}
+     *
+     * @param bits the random bits, for example {@code random.nextInt()}
+     * @param bound the number of choices
+     * @return an index between 0 (inclusive) and bound (exclusive)
+     */
+    protected static int pick(int bits, int bound) {
+        return (int) (((bits & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
     // GETTERS / SETTERS ----------------------------------------------------------------
 
     public int getWidth() {
@@ -99,12 +141,38 @@ public abstract class MazeGenerator<N extends NodeData, E extends EdgeData> impl
         this.height = height;
     }
 
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getFps() {
+        return this.fps;
+    }
+
+    public void setFps(int fps) {
+        if (fps <= 0) throw new IllegalArgumentException("fps must be greater than zero");
+        this.fps = fps;
+    }
+
     public Maze<N, E> getMaze() {
         return this.maze;
     }
 
     public void setMaze(Maze<N, E> maze) {
         this.maze = maze;
-        this.graph = maze.getGraph();
+    }
+
+    /**
+     * retrieve the graph of the maze
+     * <p>the graph is built on first request, generators working only on the grid never pay for it</p>
+     *
+     * @return the maze graph
+     */
+    public Graph<N, E> getGraph() {
+        return this.maze.getGraph();
     }
 }
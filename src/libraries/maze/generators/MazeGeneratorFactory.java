@@ -0,0 +1,19 @@
+package libraries.maze.generators;
+
+/**
+ * Creates a generator with a given size and seed
+ * <p>the two and three arguments constructors of every generator match it, e.g. {@code RDSMazeGenerator::new}</p>
+ */
+@FunctionalInterface
+public interface MazeGeneratorFactory {
+
+    /**
+     * Create a new generator
+     *
+     * @param width the maze width
+     * @param height the maze height
+     * @param seed the random source seed
+     * @return the generator, not started yet
+     */
+    MazeGenerator<?, ?> create(int width, int height, long seed);
+}
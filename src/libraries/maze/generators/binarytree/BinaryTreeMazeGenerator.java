@@ -0,0 +1,107 @@
+package libraries.maze.generators.binarytree;
+
+import libraries.cli.CLI;
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+import libraries.maze.generators.MazeGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Binary tree maze generator working on whole words of wall bits
+ * <p>
+ * Every cell opens either its east or its south wall, so a random long decides 64 cells at once: a set bit opens the
+ * east wall and a clear bit the south one. Cells of the last column can only go south and cells of the last row only
+ * east, which leaves two long corridors on the bottom and right borders. The maze is perfect but strongly biased,
+ * it is meant as a fast fixture for solvers more than as a puzzle.
+ * </p>
+ */
+public final class BinaryTreeMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    public BinaryTreeMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public BinaryTreeMazeGenerator(int width, int height, long seed) {
+
+        // call parent constructor
+        super(width, height, seed);
+
+        // generate the maze keeping node data on a struct of arrays storage
+        NodeStore store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(store, store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of BinaryTreeMazeGenerator
+     */
+    public static BinaryTreeMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new BinaryTreeMazeGenerator(width, height);
+        return new BinaryTreeMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     *
+     * @param visualize true if we want to show to the cli each generated row, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        long[] east = grid.getEastWalls();
+        long[] south = grid.getSouthWalls();
+        int words = grid.getWordsPerRow();
+
+        // border and padding bits of the last word of each row
+        long padding = (this.width & 63) == 0 ? 0 : -1L << this.width;
+        long border = 1L << (this.width - 1);
+
+        // walls of rows not generated yet are all up
+        if (visualize) grid.fill(true);
+
+        SplittableRandom random = this.newRandom();
+        for (int y = 0; y < this.height; y++) {
+            int offset = y * words;
+
+            if (y < this.height - 1) {
+                // a set bit opens the east wall, a clear one the south wall
+                for (int i = 0; i < words; i++) {
+                    long bits = random.nextLong();
+                    east[offset + i] = ~bits;
+                    south[offset + i] = bits;
+                }
+
+                // the last column can only go south
+                east[offset + words - 1] |= padding | border;
+                south[offset + words - 1] = (south[offset + words - 1] | padding) & ~border;
+            } else {
+                // the last row is a single corridor
+                for (int i = 0; i < words; i++) {
+                    east[offset + i] = 0;
+                    south[offset + i] = -1L;
+                }
+                east[offset + words - 1] |= padding | border;
+            }
+
+            // show current state if necessary
+            if (visualize) this.show();
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        return this.maze;
+    }
+}
@@ -0,0 +1,306 @@
+package libraries.maze.generators.concurrent;
+
+import libraries.cli.CLI;
+import libraries.graph.DisjointSet;
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+import libraries.maze.generators.MazeGenerator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maze generator running several depth first walkers concurrently on the same grid
+ * <p>
+ * Every walker grows its own tree claiming cells with a CAS on a shared {@link AtomicLongArray} visited bitmap, and
+ * clears walls with atomic bitwise operations on the grid planes, so no lock is ever taken. Once all walkers are
+ * stuck the grid is a forest with a tree per walker, trees are then joined opening one passage between each pair of
+ * trees linked by a spanning tree of the walkers. Walkers race for cells, so the maze depends on thread scheduling
+ * and is reproducible from the seed only when a single walker runs.
+ * </p>
+ */
+public final class ConcurrentMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    /**
+     * number of walkers used when visualizing
+     */
+    public static final int VISUAL_WALKERS = 4;
+
+    // atomic access to the grid wall words
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // pool running the walkers, one walker per pool thread
+    private final ForkJoinPool pool;
+
+    // contention statistics of the last run
+    private long lostClaims;
+
+    public ConcurrentMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public ConcurrentMazeGenerator(int width, int height, long seed) {
+        this(width, height, seed, ForkJoinPool.commonPool());
+    }
+
+    public ConcurrentMazeGenerator(int width, int height, long seed, ForkJoinPool pool) {
+
+        // call parent constructor
+        super(width, height, seed);
+        this.pool = pool;
+
+        // generate the maze keeping node data on a struct of arrays storage
+        NodeStore store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(store, store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of ConcurrentMazeGenerator
+     */
+    public static ConcurrentMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new ConcurrentMazeGenerator(width, height);
+        return new ConcurrentMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     * <p>when visualizing, walkers take a step each in turn on the caller thread</p>
+     *
+     * @param visualize true if we want to show to the cli each generation step, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        int size = this.width * this.height;
+
+        // create walls for all roads
+        grid.fill(true);
+
+        // shared state, a walker never takes more than one cell from the others
+        AtomicLongArray visited = new AtomicLongArray((size + 63) >>> 6);
+        byte[] owners = new byte[size];
+        int count = Math.min(visualize ? ConcurrentMazeGenerator.VISUAL_WALKERS : this.pool.getParallelism(), Math.min(size, Byte.MAX_VALUE));
+
+        // place walkers on distinct random cells, each with its own random source
+        SplittableRandom random = this.newRandom();
+        Walker[] walkers = new Walker[count];
+        for (int i = 0; i < count; i++) walkers[i] = new Walker(grid, visited, owners, (byte) i, random.split());
+        for (Walker walker : walkers) {
+            while (!walker.claimStart(random.nextInt(size))) ;
+        }
+
+        // walk until every walker is stuck
+        if (visualize) {
+            for (boolean moving = true; moving; ) {
+                moving = false;
+                for (Walker walker : walkers) moving |= walker.step();
+                this.show();
+            }
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Walker walker : walkers) tasks.add(() -> { while (walker.step()) ; return null; });
+
+            try {
+                for (Future<Void> future : this.pool.invokeAll(tasks)) future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        // join the trees of the walkers
+        this.stitch(grid, owners, count, random.nextInt(this.height));
+        if (visualize) this.finish();
+
+        this.lostClaims = Arrays.stream(walkers).mapToLong(w -> w.lostClaims).sum();
+        return this.maze;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Open one passage between each pair of walker trees linked by a spanning tree of the walkers
+     * <p>borders are scanned row by row from a random row, stopping as soon as all trees are joined</p>
+     *
+     * @param grid the grid to stitch
+     * @param owners the walker owning each cell
+     * @param count the number of walkers
+     * @param first the first row to scan
+     */
+    private void stitch(MazeGrid grid, byte[] owners, int count, int first) {
+        DisjointSet sets = new DisjointSet(count);
+
+        for (int i = 0; i < this.height && sets.getSets() > 1; i++) {
+            int y = (first + i) % this.height;
+            for (int x = 0; x < this.width; x++) {
+                int cell = y * this.width + x;
+                if (x < this.width - 1 && sets.union(owners[cell], owners[cell + 1])) grid.setEastWall(x, y, false);
+                if (y < this.height - 1 && sets.union(owners[cell], owners[cell + this.width])) grid.setSouthWall(x, y, false);
+            }
+        }
+    }
+
+    /**
+     * Depth first walker claiming cells on the shared bitmap
+     */
+    private static class Walker {
+
+        // shared state
+        private final MazeGrid grid;
+        private final AtomicLongArray visited;
+        private final byte[] owners;
+        private final byte id;
+
+        // own state
+        private final SplittableRandom random;
+        private int[] stack;
+        private int depth;
+        private final int[] candidates;
+        private long lostClaims;
+
+        Walker(MazeGrid grid, AtomicLongArray visited, byte[] owners, byte id, SplittableRandom random) {
+            this.grid = grid;
+            this.visited = visited;
+            this.owners = owners;
+            this.id = id;
+            this.random = random;
+            this.stack = new int[64];
+            this.candidates = new int[4];
+        }
+
+        /**
+         * claim the first cell of the walker
+         *
+         * @param cell the cell index
+         * @return true if the cell was free
+         */
+        boolean claimStart(int cell) {
+            if (!this.claim(cell)) return false;
+
+            this.stack[this.depth++] = cell;
+            return true;
+        }
+
+        /**
+         * move to a random free neighbor of the current cell, or backtrack if there are none
+         *
+         * @return false when the walker has no cell left to move from
+         */
+        boolean step() {
+            if (this.depth == 0) return false;
+
+            int width = this.grid.getWidth();
+            int cell = this.stack[this.depth - 1];
+            int y = cell / width;
+            int x = cell - y * width;
+
+            // try free neighbors in random order until one is claimed
+            int count = 0;
+            if (y > 0 && this.isFree(cell - width)) this.candidates[count++] = MazeGrid.NORTH;
+            if (x > 0 && this.isFree(cell - 1)) this.candidates[count++] = MazeGrid.WEST;
+            if (x < width - 1 && this.isFree(cell + 1)) this.candidates[count++] = MazeGrid.EAST;
+            if (y < this.grid.getHeight() - 1 && this.isFree(cell + width)) this.candidates[count++] = MazeGrid.SOUTH;
+
+            while (count > 0) {
+                int pick = this.random.nextInt(count);
+                int direction = this.candidates[pick];
+                this.candidates[pick] = this.candidates[--count];
+
+                int next = this.grid.getNeighbor(cell, direction);
+                if (!this.claim(next)) {
+                    this.lostClaims++;
+                    continue;
+                }
+
+                // remove the wall and push the new cell
+                this.open(x, y, direction);
+                if (this.depth == this.stack.length) this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+                this.stack[this.depth++] = next;
+                return true;
+            }
+
+            // backtrack
+            this.depth--;
+            return this.depth > 0;
+        }
+
+        /**
+         * check if a cell looks free, a plain read only used as a hint before claiming it
+         *
+         * @param cell the cell index
+         * @return true if the cell was not visited
+         */
+        private boolean isFree(int cell) {
+            return (this.visited.getPlain(cell >>> 6) & (1L << cell)) == 0;
+        }
+
+        /**
+         * claim a cell setting its visited bit with a CAS
+         *
+         * @param cell the cell index
+         * @return true if this walker set the bit, false if it was already set
+         */
+        private boolean claim(int cell) {
+            int index = cell >>> 6;
+            long bit = 1L << cell;
+
+            long word = this.visited.get(index);
+            while ((word & bit) == 0) {
+                long witness = this.visited.compareAndExchange(index, word, word | bit);
+                if (witness == word) {
+                    this.owners[cell] = this.id;
+                    return true;
+                }
+                word = witness;
+            }
+
+            return false;
+        }
+
+        /**
+         * atomically clear the wall on a side of a cell, other walkers may be writing the same word
+         *
+         * @param x the cell column
+         * @param y the cell row
+         * @param direction the side of the wall
+         */
+        private void open(int x, int y, int direction) {
+            if (direction == MazeGrid.NORTH) y--;
+            else if (direction == MazeGrid.WEST) x--;
+
+            long[] plane = direction == MazeGrid.NORTH || direction == MazeGrid.SOUTH ? this.grid.getSouthWalls() : this.grid.getEastWalls();
+            ConcurrentMazeGenerator.WORDS.getAndBitwiseAnd(plane, y * this.grid.getWordsPerRow() + (x >>> 6), ~(1L << x));
+        }
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    /**
+     * retrieve the number of claims lost to another walker during the last run
+     *
+     * @return the number of failed claims, a measure of the contention between walkers
+     */
+    public long getLostClaims() {
+        return this.lostClaims;
+    }
+}
@@ -0,0 +1,84 @@
+package libraries.maze.generators.eller;
+
+import libraries.cli.CLI;
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+import libraries.maze.generators.MazeGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In memory maze generator implementing Eller's algorithm
+ * <p>
+ * Rows produced by an {@link EllerRowGenerator} are copied on the maze grid as they come. To generate mazes that
+ * don't fit in memory use the row generator directly, feeding a streaming writer.
+ * </p>
+ */
+public final class EllerMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    public EllerMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public EllerMazeGenerator(int width, int height, long seed) {
+
+        // call parent constructor
+        super(width, height, seed);
+
+        // generate the maze keeping node data on a struct of arrays storage
+        NodeStore store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(store, store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of EllerMazeGenerator
+     */
+    public static EllerMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new EllerMazeGenerator(width, height);
+        return new EllerMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     *
+     * @param visualize true if we want to show to the cli each generated row, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        int words = grid.getWordsPerRow();
+
+        // walls of rows not generated yet are all up
+        grid.fill(true);
+
+        try {
+            new EllerRowGenerator(this.width, this.seed).generate(this.height, (y, east, south) -> {
+                System.arraycopy(east, 0, grid.getEastWalls(), (int) y * words, words);
+                System.arraycopy(south, 0, grid.getSouthWalls(), (int) y * words, words);
+
+                // show current state if necessary
+                if (visualize) this.show();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        return this.maze;
+    }
+}
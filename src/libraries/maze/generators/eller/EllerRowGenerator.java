@@ -0,0 +1,154 @@
+package libraries.maze.generators.eller;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Streaming maze generator implementing Eller's algorithm
+ * <p>
+ * The maze is produced one row at a time keeping only the set of each cell of the current row: adjacent cells of
+ * different sets are randomly joined, then every set carves at least one passage down to the next row. Set labels
+ * are recycled between rows so they always fit in {@code [0, width)}, and memory stays linear in the width no matter
+ * how many rows are generated. The last row joins every set left, so the result is a perfect maze.
+ * </p>
+ */
+public class EllerRowGenerator {
+
+    /**
+     * Receives generated rows
+     * <p>walls use the grid plane layout: bit {@code x} of the row words is the wall on the east or south side of
+     * column {@code x}, arrays are reused for the next row</p>
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long y, long[] east, long[] south) throws IOException;
+    }
+
+    // maze shape
+    private final int width;
+    private final int words;
+
+    // random source seed
+    private final long seed;
+
+    public EllerRowGenerator(int width, long seed) {
+        if (width <= 0) throw new IllegalArgumentException("width must be greater than zero");
+
+        this.width = width;
+        this.words = (width + 63) >>> 6;
+        this.seed = seed;
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Generate a maze streaming its rows
+     *
+     * @param height the number of rows to generate
+     * @param consumer the consumer receiving each row in order
+     * @throws IOException if the consumer fails to handle a row
+     */
+    public void generate(long height, RowConsumer consumer) throws IOException {
+        if (height <= 0) throw new IllegalArgumentException("height must be greater than zero");
+
+        int width = this.width;
+        SplittableRandom random = new SplittableRandom(this.seed);
+
+        // row walls
+        long[] east = new long[this.words];
+        long[] south = new long[this.words];
+
+        // set of each cell, union-find of the row labels, cells left per set and sets already going down
+        int[] sets = new int[width];
+        int[] parent = new int[width];
+        int[] remaining = new int[width];
+        boolean[] down = new boolean[width];
+
+        // first row, every cell on its own set
+        for (int x = 0; x < width; x++) sets[x] = x;
+
+        for (long y = 0; y < height; y++) {
+            boolean last = y == height - 1;
+
+            // every wall is up until carved
+            Arrays.fill(east, -1L);
+            Arrays.fill(south, -1L);
+            for (int label = 0; label < width; label++) parent[label] = label;
+
+            // randomly join adjacent cells of different sets, the last row joins all of them
+            for (int x = 0; x < width - 1; x++) {
+                int a = EllerRowGenerator.find(parent, sets[x]);
+                int b = EllerRowGenerator.find(parent, sets[x + 1]);
+                if (a == b || (!last && random.nextBoolean())) continue;
+
+                parent[b] = a;
+                east[x >>> 6] &= ~(1L << x);
+            }
+
+            // label cells with their set root and count cells of each set
+            for (int x = 0; x < width; x++) {
+                sets[x] = EllerRowGenerator.find(parent, sets[x]);
+                remaining[sets[x]]++;
+            }
+
+            if (!last) {
+
+                // carve down randomly, forcing the last cell of a set without passages down
+                for (int x = 0; x < width; x++) {
+                    int set = sets[x];
+                    remaining[set]--;
+                    if (random.nextBoolean() || (remaining[set] == 0 && !down[set])) {
+                        down[set] = true;
+                        south[x >>> 6] &= ~(1L << x);
+                    } else {
+                        sets[x] = -1;
+                    }
+                }
+
+                // cells not reached from above get a fresh label among the ones not in use
+                Arrays.fill(down, false);
+                for (int x = 0; x < width; x++) if (sets[x] >= 0) down[sets[x]] = true;
+                int free = 0;
+                for (int x = 0; x < width; x++) {
+                    if (sets[x] >= 0) continue;
+                    while (down[free]) free++;
+                    sets[x] = free++;
+                }
+                Arrays.fill(down, false);
+            } else {
+                Arrays.fill(remaining, 0);
+            }
+
+            consumer.accept(y, east, south);
+        }
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * find the root label of a set, halving the path
+     *
+     * @param parent the parent of each label
+     * @param label the label
+     * @return the root label
+     */
+    private static int find(int[] parent, int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+
+        return label;
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+}
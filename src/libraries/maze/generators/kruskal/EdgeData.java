@@ -0,0 +1,5 @@
+package libraries.maze.generators.kruskal;
+
+public class EdgeData extends libraries.maze.EdgeData {
+
+}
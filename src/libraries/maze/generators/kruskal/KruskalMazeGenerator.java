@@ -0,0 +1,140 @@
+package libraries.maze.generators.kruskal;
+
+import libraries.cli.CLI;
+import libraries.graph.DisjointSet;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.generators.MazeGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Randomized Kruskal maze generator
+ * <p>
+ * Every inner wall is put on a shuffled array and walls are removed in that order whenever they separate 2 cells not
+ * yet connected, tracked on a {@link DisjointSet}. Walls are encoded as {@code cell << 1 | side}, where side is 0 for
+ * the east wall and 1 for the south wall of the cell.
+ * </p>
+ */
+public final class KruskalMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    // node data storage
+    private final NodeStore store;
+
+    public KruskalMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public KruskalMazeGenerator(int width, int height, long seed) {
+
+        // call parent constructor
+        super(width, height, seed);
+
+        // generate the maze keeping node data on a struct of arrays storage
+        this.store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(this.store, this.store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of KruskalMazeGenerator
+     */
+    public static KruskalMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new KruskalMazeGenerator(width, height);
+        return new KruskalMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     *
+     * @param visualize true if we want to show to the cli each generation step, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        int width = this.width;
+        int size = width * this.height;
+
+        // create walls for all roads
+        grid.fill(true);
+
+        // single random source of the run, shuffle all inner walls
+        SplittableRandom random = this.newRandom();
+        int[] walls = this.shuffledWalls(random);
+
+        // remove walls between cells not connected yet, until a single set is left
+        DisjointSet sets = new DisjointSet(size);
+        for (int i = 0; i < walls.length && sets.getSets() > 1; i++) {
+            int cell = walls[i] >>> 1;
+            boolean south = (walls[i] & 1) != 0;
+            int other = south ? cell + width : cell + 1;
+
+            if (!sets.union(cell, other)) continue;
+
+            int x = cell % width;
+            int y = cell / width;
+            if (south) grid.setSouthWall(x, y, false);
+            else grid.setEastWall(x, y, false);
+
+            // show current state if necessary
+            if (visualize) {
+                this.store.setJoined(cell, true);
+                this.store.setJoined(other, true);
+                this.store.setHead(cell, true);
+                this.store.setHead(other, true);
+                this.show();
+                this.store.setHead(cell, false);
+                this.store.setHead(other, false);
+            }
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        return this.maze;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Create the array of inner walls in random order
+     *
+     * @param random the random source of the run
+     * @return the encoded walls, shuffled
+     */
+    private int[] shuffledWalls(SplittableRandom random) {
+        int width = this.width;
+        int height = this.height;
+
+        // collect east walls of all but last column and south walls of all but last row
+        long total = (long) (width - 1) * height + (long) width * (height - 1);
+        if (total > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("maze is too big to shuffle its walls");
+        int[] walls = new int[(int) total];
+        int count = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                if (x < width - 1) walls[count++] = cell << 1;
+                if (y < height - 1) walls[count++] = cell << 1 | 1;
+            }
+        }
+
+        // fisher yates shuffle
+        for (int i = walls.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = walls[i];
+            walls[i] = walls[j];
+            walls[j] = swap;
+        }
+
+        return walls;
+    }
+}
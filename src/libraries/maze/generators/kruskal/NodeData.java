@@ -0,0 +1,65 @@
+package libraries.maze.generators.kruskal;
+
+import libraries.cli.CLIStyle;
+
+public class NodeData extends libraries.maze.NodeData {
+
+    // CONSTANTS --------------------------------------------------------------
+    public static final String STYLE_JOINED = CLIStyle.apply("·", CLIStyle.CYAN, CLIStyle.BOLD);
+    public static final String STYLE_HEAD = CLIStyle.apply("*", CLIStyle.BRIGHT_RED, CLIStyle.BOLD);
+
+    // MEMBERS ----------------------------------------------------------------
+    private boolean joined;
+    private boolean head;
+
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+
+    public NodeData(int x, int y) {
+        super(x, y);
+        this.joined = false;
+        this.head = false;
+        this.store = null;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        super(store, id);
+        this.store = store;
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public String toString(boolean style) {
+
+        if (this.isEnd()) return NodeData.STYLE_END;
+        else if (this.isStart()) return NodeData.STYLE_START;
+        else if (style && this.isHead()) return NodeData.STYLE_HEAD;
+        else if (style && this.isJoined()) return NodeData.STYLE_JOINED;
+
+        return NodeData.STYLE_DEF;
+    }
+
+    public boolean isJoined() {
+        return this.store != null ? this.store.isJoined(this.getId()) : this.joined;
+    }
+
+    public void setJoined(boolean joined) {
+        if (this.store != null) this.store.setJoined(this.getId(), joined);
+        else this.joined = joined;
+    }
+
+    public boolean isHead() {
+        return this.store != null ? this.store.isHead(this.getId()) : this.head;
+    }
+
+    public void setHead(boolean head) {
+        if (this.store != null) this.store.setHead(this.getId(), head);
+        else this.head = head;
+    }
+}
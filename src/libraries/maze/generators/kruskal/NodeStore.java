@@ -0,0 +1,32 @@
+package libraries.maze.generators.kruskal;
+
+import libraries.maze.MazeGrid;
+
+/**
+ * Struct of arrays storage for {@link NodeData} of the Kruskal generator
+ */
+public class NodeStore extends libraries.maze.NodeStore {
+
+    // MEMBERS ----------------------------------------------------------------
+    private final long[] joined;
+    private final long[] head;
+
+    public NodeStore(MazeGrid grid) {
+        super(grid);
+        this.joined = NodeStore.newBits(grid.size());
+        this.head = NodeStore.newBits(grid.size());
+    }
+
+    @Override
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public boolean isJoined(int id) { return NodeStore.getBit(this.joined, id); }
+    public void setJoined(int id, boolean joined) { NodeStore.setBit(this.joined, id, joined); }
+
+    public boolean isHead(int id) { return NodeStore.getBit(this.head, id); }
+    public void setHead(int id, boolean head) { NodeStore.setBit(this.head, id, head); }
+}
@@ -0,0 +1,227 @@
+package libraries.maze.generators.parallel;
+
+import libraries.cli.CLI;
+import libraries.graph.DisjointSet;
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+import libraries.maze.generators.MazeGenerator;
+import libraries.maze.generators.rds.RDSMazeGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parallel maze generator partitioning the grid in tiles
+ * <p>
+ * Each tile is carved as an independent perfect maze by the RDS walk, tiles are spread on a {@link ForkJoinPool}.
+ * Tiles are then stitched along a random spanning tree of the tile graph, opening exactly one passage on the border
+ * shared by every pair of tiles linked by the tree, so the whole maze is still connected and acyclic.
+ * Tile widths are multiples of 64 so two tiles never write the same grid word, and every tile gets its own random
+ * source split from the seed before forking, so a seed always generates the same maze whatever the scheduling.
+ * </p>
+ */
+public final class ParallelMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    /**
+     * tile size, in cells, tile widths must be multiples of 64. It is the same with or without visualization, so a
+     * seed generates the same maze in both modes
+     */
+    public static final int TILE_SIZE = 64;
+
+    // pool running the tiles
+    private final ForkJoinPool pool;
+
+    public ParallelMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public ParallelMazeGenerator(int width, int height, long seed) {
+        this(width, height, seed, ForkJoinPool.commonPool());
+    }
+
+    public ParallelMazeGenerator(int width, int height, long seed, ForkJoinPool pool) {
+
+        // call parent constructor
+        super(width, height, seed);
+        this.pool = pool;
+
+        // generate the maze keeping node data on a struct of arrays storage
+        NodeStore store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(store, store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of ParallelMazeGenerator
+     */
+    public static ParallelMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new ParallelMazeGenerator(width, height);
+        return new ParallelMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     * <p>when visualizing, tiles are carved one after the other on the caller thread to show each of them</p>
+     *
+     * @param visualize true if we want to show to the cli each generated tile, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+
+        // tiles layout
+        int tileWidth = ParallelMazeGenerator.TILE_SIZE;
+        int tileHeight = ParallelMazeGenerator.TILE_SIZE;
+        int columns = (this.width + tileWidth - 1) / tileWidth;
+        int rows = (this.height + tileHeight - 1) / tileHeight;
+
+        // create walls for all roads
+        grid.fill(true);
+
+        // split a random source for every tile before forking, then keep one for the stitching
+        SplittableRandom random = this.newRandom();
+        SplittableRandom[] randoms = new SplittableRandom[columns * rows];
+        for (int i = 0; i < randoms.length; i++) randoms[i] = random.split();
+
+        // carve all tiles
+        Tiles tiles = new Tiles(grid, tileWidth, tileHeight, columns, randoms, 0, randoms.length);
+        if (visualize) {
+            for (int i = 0; i < randoms.length; i++) {
+                tiles.carve(i);
+                this.show();
+            }
+        } else {
+            this.pool.invoke(tiles);
+        }
+
+        // stitch tiles along a random spanning tree
+        this.stitch(grid, tileWidth, tileHeight, columns, rows, random, visualize);
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        return this.maze;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Open one passage between each pair of tiles linked by a random spanning tree of the tiles
+     *
+     * @param grid the grid to stitch
+     * @param tileWidth the width of a tile
+     * @param tileHeight the height of a tile
+     * @param columns the number of tile columns
+     * @param rows the number of tile rows
+     * @param random the random source
+     * @param visualize true to show each passage
+     */
+    private void stitch(MazeGrid grid, int tileWidth, int tileHeight, int columns, int rows, SplittableRandom random, boolean visualize) {
+
+        // list tile borders as tile << 1 | side, side 0 for the east border and 1 for the south one
+        int[] borders = new int[(columns - 1) * rows + columns * (rows - 1)];
+        int count = 0;
+        for (int tile = 0; tile < columns * rows; tile++) {
+            if (tile % columns < columns - 1) borders[count++] = tile << 1;
+            if (tile / columns < rows - 1) borders[count++] = tile << 1 | 1;
+        }
+
+        // random kruskal over the tile graph
+        for (int i = borders.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = borders[i];
+            borders[i] = borders[j];
+            borders[j] = swap;
+        }
+
+        DisjointSet sets = new DisjointSet(columns * rows);
+        for (int border : borders) {
+            int tile = border >>> 1;
+            boolean south = (border & 1) != 0;
+            if (!sets.union(tile, south ? tile + columns : tile + 1)) continue;
+
+            // tile bounds
+            int left = tile % columns * tileWidth;
+            int top = tile / columns * tileHeight;
+            int right = Math.min(left + tileWidth, this.width) - 1;
+            int bottom = Math.min(top + tileHeight, this.height) - 1;
+
+            // open a random passage along the shared border
+            if (south) grid.setSouthWall(left + random.nextInt(right - left + 1), bottom, false);
+            else grid.setEastWall(right, top + random.nextInt(bottom - top + 1), false);
+
+            if (visualize) this.show();
+        }
+    }
+
+    /**
+     * Fork/join task carving a range of tiles
+     * <p>tasks are never serialized, they only live for a single run</p>
+     */
+    @SuppressWarnings("serial")
+    private static class Tiles extends RecursiveAction {
+
+        // tiles layout
+        private final MazeGrid grid;
+        private final int tileWidth;
+        private final int tileHeight;
+        private final int columns;
+        private final SplittableRandom[] randoms;
+
+        // range of tiles of the task
+        private final int from;
+        private final int to;
+
+        Tiles(MazeGrid grid, int tileWidth, int tileHeight, int columns, SplittableRandom[] randoms, int from, int to) {
+            this.grid = grid;
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.columns = columns;
+            this.randoms = randoms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            // carve a single tile or split the range in 2 halves
+            if (this.to - this.from == 1) {
+                this.carve(this.from);
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(
+                    new Tiles(this.grid, this.tileWidth, this.tileHeight, this.columns, this.randoms, this.from, middle),
+                    new Tiles(this.grid, this.tileWidth, this.tileHeight, this.columns, this.randoms, middle, this.to)
+            );
+        }
+
+        /**
+         * carve a single tile with its own random source
+         *
+         * @param tile the tile index
+         */
+        void carve(int tile) {
+            int left = tile % this.columns * this.tileWidth;
+            int top = tile / this.columns * this.tileHeight;
+            int width = Math.min(this.tileWidth, this.grid.getWidth() - left);
+            int height = Math.min(this.tileHeight, this.grid.getHeight() - top);
+
+            RDSMazeGenerator.carve(this.grid, left, top, width, height, this.randoms[tile]);
+        }
+    }
+}
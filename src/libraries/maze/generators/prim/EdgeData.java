@@ -0,0 +1,5 @@
+package libraries.maze.generators.prim;
+
+public class EdgeData extends libraries.maze.EdgeData {
+
+}
@@ -0,0 +1,78 @@
+package libraries.maze.generators.prim;
+
+import libraries.cli.CLIStyle;
+
+public class NodeData extends libraries.maze.NodeData {
+
+    // CONSTANTS --------------------------------------------------------------
+    public static final String STYLE_VISITED = CLIStyle.apply("·", CLIStyle.CYAN, CLIStyle.BOLD);
+    public static final String STYLE_FRONTIER = CLIStyle.apply("+", CLIStyle.YELLOW, CLIStyle.BOLD);
+    public static final String STYLE_HEAD = CLIStyle.apply("*", CLIStyle.BRIGHT_RED, CLIStyle.BOLD);
+
+    // MEMBERS ----------------------------------------------------------------
+    private boolean visited;
+    private boolean frontier;
+    private boolean head;
+
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+
+    public NodeData(int x, int y) {
+        super(x, y);
+        this.visited = false;
+        this.frontier = false;
+        this.head = false;
+        this.store = null;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        super(store, id);
+        this.store = store;
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public String toString(boolean style) {
+
+        if (this.isEnd()) return NodeData.STYLE_END;
+        else if (this.isStart()) return NodeData.STYLE_START;
+        else if (style && this.isHead()) return NodeData.STYLE_HEAD;
+        else if (style && this.isVisited()) return NodeData.STYLE_VISITED;
+        else if (style && this.isFrontier()) return NodeData.STYLE_FRONTIER;
+
+        return NodeData.STYLE_DEF;
+    }
+
+    public boolean isVisited() {
+        return this.store != null ? this.store.isVisited(this.getId()) : this.visited;
+    }
+
+    public void setVisited(boolean visited) {
+        if (this.store != null) this.store.setVisited(this.getId(), visited);
+        else this.visited = visited;
+    }
+
+    public boolean isFrontier() {
+        return this.store != null ? this.store.isFrontier(this.getId()) : this.frontier;
+    }
+
+    public void setFrontier(boolean frontier) {
+        if (this.store != null) this.store.setFrontier(this.getId(), frontier);
+        else this.frontier = frontier;
+    }
+
+    public boolean isHead() {
+        return this.store != null ? this.store.isHead(this.getId()) : this.head;
+    }
+
+    public void setHead(boolean head) {
+        if (this.store != null) this.store.setHead(this.getId(), head);
+        else this.head = head;
+    }
+}
@@ -0,0 +1,57 @@
+package libraries.maze.generators.prim;
+
+import libraries.maze.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Struct of arrays storage for {@link NodeData} of the Prim generator
+ */
+public class NodeStore extends libraries.maze.NodeStore {
+
+    // MEMBERS ----------------------------------------------------------------
+    private final long[] visited;
+    private final long[] frontier;
+    private final long[] head;
+
+    public NodeStore(MazeGrid grid) {
+        super(grid);
+        this.visited = NodeStore.newBits(grid.size());
+        this.frontier = NodeStore.newBits(grid.size());
+        this.head = NodeStore.newBits(grid.size());
+    }
+
+    @Override
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    /**
+     * Set the visited flag of every cell
+     *
+     * @param visited the flag value
+     */
+    public void fillVisited(boolean visited) {
+        Arrays.fill(this.visited, visited ? -1L : 0L);
+    }
+
+    /**
+     * Clear the generation flags of every cell
+     */
+    public void clear() {
+        Arrays.fill(this.visited, 0L);
+        Arrays.fill(this.frontier, 0L);
+        Arrays.fill(this.head, 0L);
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public boolean isVisited(int id) { return NodeStore.getBit(this.visited, id); }
+    public void setVisited(int id, boolean visited) { NodeStore.setBit(this.visited, id, visited); }
+
+    public boolean isFrontier(int id) { return NodeStore.getBit(this.frontier, id); }
+    public void setFrontier(int id, boolean frontier) { NodeStore.setBit(this.frontier, id, frontier); }
+
+    public boolean isHead(int id) { return NodeStore.getBit(this.head, id); }
+    public void setHead(int id, boolean head) { NodeStore.setBit(this.head, id, head); }
+}
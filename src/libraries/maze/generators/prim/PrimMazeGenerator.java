@@ -0,0 +1,201 @@
+package libraries.maze.generators.prim;
+
+import libraries.cli.CLI;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.generators.MazeGenerator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Randomized Prim maze generator
+ * <p>
+ * The maze grows from a random cell: at each step a random cell is taken from the frontier, the unvisited cells next
+ * to the maze, and joined to one of its visited neighbors. The frontier is an {@code int[]} of cell indexes where the
+ * taken cell is replaced by the last one, so a random removal costs O(1), and a frontier bitset keeps a cell from
+ * being added twice. Mazes have short dead ends and many junctions.
+ * </p>
+ */
+public final class PrimMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    // offset of the cell holding the wall crossed by each direction, walls are stored on the north or west cell
+    private static final int[] WALL_DX = {0, -1, 0, 0};
+    private static final int[] WALL_DY = {-1, 0, 0, 0};
+
+    // direction of the k-th set bit of a 4 bit links mask, indexed by {@code mask << 2 | k}
+    private static final byte[] SELECT = new byte[64];
+    static {
+        for (int mask = 0; mask < 16; mask++) {
+            int k = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                if ((mask & (1 << direction)) != 0) PrimMazeGenerator.SELECT[mask << 2 | k++] = (byte) direction;
+            }
+        }
+    }
+
+    // node data storage
+    private final NodeStore store;
+
+    public PrimMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public PrimMazeGenerator(int width, int height, long seed) {
+
+        // call parent constructor
+        super(width, height, seed);
+
+        // generate the maze keeping node data on a struct of arrays storage
+        this.store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(this.store, this.store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of PrimMazeGenerator
+     */
+    public static PrimMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new PrimMazeGenerator(width, height);
+        return new PrimMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     *
+     * @param visualize true if we want to show to the cli each generation step, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        long[] east = grid.getEastWalls();
+        long[] south = grid.getSouthWalls();
+
+        // cells are addressed as y << shift | x, with rows padded to a power of 2 so coordinates never need a division
+        int words = grid.getWordsPerRow();
+        int shift = Math.max(6, 32 - Integer.numberOfLeadingZeros(this.width - 1));
+        int stride = 1 << shift;
+        if ((long) this.height << shift > Integer.MAX_VALUE) throw new IllegalArgumentException("maze is too big for the Prim generator");
+        int last = (this.height - 1) << shift;
+        int right = this.width - 1;
+
+        // visited and frontier words of the same 64 cells are interleaved to share a cache line
+        long[] flags = new long[(this.height << (shift - 6)) * 2];
+
+        // create walls for all roads and forget the previous run
+        grid.fill(true);
+        this.store.clear();
+
+        // grow the maze from a random cell
+        SplittableRandom random = this.newRandom();
+        int[] frontier = new int[Math.min(1024, this.width * this.height)];
+        int count = 0;
+        int first = random.nextInt(this.width * this.height);
+        int id = first / this.width << shift | first % this.width;
+        flags[id >>> 6 << 1] |= 1L << id;
+
+        while (true) {
+            int x = id & (stride - 1);
+            int added = count;
+
+            // look at the neighbors once, in the order of the graph edges: north, west, east, south. Visited ones may be
+            // joined to this cell and free ones join the frontier, without branches since the outcome is a coin toss
+            if (count + 4 > frontier.length) frontier = Arrays.copyOf(frontier, frontier.length * 2);
+            int links = 0;
+            if (id >= stride) {
+                int next = id - stride;
+                int word = next >>> 6 << 1;
+                links |= (int) (flags[word] >>> next & 1);
+                long free = ~(flags[word] | flags[word | 1]) >>> next & 1;
+                frontier[count] = next;
+                count += (int) free;
+                flags[word | 1] |= free << next;
+            }
+            if (x > 0) {
+                int next = id - 1;
+                int word = next >>> 6 << 1;
+                links |= (int) (flags[word] >>> next & 1) << 1;
+                long free = ~(flags[word] | flags[word | 1]) >>> next & 1;
+                frontier[count] = next;
+                count += (int) free;
+                flags[word | 1] |= free << next;
+            }
+            if (x < right) {
+                int next = id + 1;
+                int word = next >>> 6 << 1;
+                links |= (int) (flags[word] >>> next & 1) << 2;
+                long free = ~(flags[word] | flags[word | 1]) >>> next & 1;
+                frontier[count] = next;
+                count += (int) free;
+                flags[word | 1] |= free << next;
+            }
+            if (id < last) {
+                int next = id + stride;
+                int word = next >>> 6 << 1;
+                links |= (int) (flags[word] >>> next & 1) << 3;
+                long free = ~(flags[word] | flags[word | 1]) >>> next & 1;
+                frontier[count] = next;
+                count += (int) free;
+                flags[word | 1] |= free << next;
+            }
+
+            // a single draw for the step, the low half chooses the link and the high half the next frontier cell
+            long bits = random.nextLong();
+
+            // join the cell to a random visited neighbor, walls are stored on the north or west cell of a pair
+            if (links != 0) {
+                int direction = PrimMazeGenerator.SELECT[links << 2 | MazeGenerator.pick((int) bits, Integer.bitCount(links))];
+                int wx = x + PrimMazeGenerator.WALL_DX[direction];
+                int wy = (id >>> shift) + PrimMazeGenerator.WALL_DY[direction];
+                long[] plane = direction == 0 || direction == 3 ? south : east;
+                plane[wy * words + (wx >>> 6)] &= ~(1L << wx);
+            }
+
+            // show current state if necessary
+            if (visualize) {
+                for (int i = added; i < count; i++) this.store.setFrontier(this.toCell(frontier[i], shift), true);
+                int cell = this.toCell(id, shift);
+                this.store.setFrontier(cell, false);
+                this.store.setVisited(cell, true);
+                this.store.setHead(cell, true);
+                this.show();
+                this.store.setHead(cell, false);
+            }
+
+            if (count == 0) break;
+
+            // swap remove a random frontier cell and visit it
+            int index = MazeGenerator.pick((int) (bits >>> 32), count);
+            id = frontier[index];
+            frontier[index] = frontier[--count];
+            flags[id >>> 6 << 1] |= 1L << id;
+        }
+
+        // draw the final state, every cell is now visited
+        if (visualize) this.finish();
+        else this.store.fillVisited(true);
+
+        return this.maze;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Convert a cell address of the run to its index on the grid
+     *
+     * @param id the cell address, as y << shift | x
+     * @param shift the number of bits of a row, as a power of 2
+     * @return the cell index
+     */
+    private int toCell(int id, int shift) {
+        return (id >>> shift) * this.width + (id & ((1 << shift) - 1));
+    }
+}
@@ -14,11 +14,26 @@ public class NodeData extends libraries.maze.NodeData {
     private boolean trail;
     private boolean head;
 
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+
     public NodeData(int x, int y) {
         super(x, y);
         this.visited = false;
         this.trail = false;
         this.head = false;
+        this.store = null;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        super(store, id);
+        this.store = store;
     }
 
     // GETTERS / SETTERS ------------------------------------------------------
@@ -35,26 +50,29 @@ public class NodeData extends libraries.maze.NodeData {
     }
 
     public boolean isTrail() {
-        return this.trail;
+        return this.store != null ? this.store.isTrail(this.getId()) : this.trail;
     }
 
     public void setTrail(boolean trail) {
-        this.trail = trail;
+        if (this.store != null) this.store.setTrail(this.getId(), trail);
+        else this.trail = trail;
     }
 
     public boolean isVisited() {
-        return visited;
+        return this.store != null ? this.store.isVisited(this.getId()) : visited;
     }
 
     public void setVisited(boolean visited) {
-        this.visited = visited;
+        if (this.store != null) this.store.setVisited(this.getId(), visited);
+        else this.visited = visited;
     }
 
     public boolean isHead() {
-        return this.head;
+        return this.store != null ? this.store.isHead(this.getId()) : this.head;
     }
 
     public void setHead(boolean head) {
-        this.head = head;
+        if (this.store != null) this.store.setHead(this.getId(), head);
+        else this.head = head;
     }
 }
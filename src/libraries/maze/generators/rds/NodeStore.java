@@ -0,0 +1,48 @@
+package libraries.maze.generators.rds;
+
+import libraries.maze.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Struct of arrays storage for {@link NodeData} of the RDS generator
+ */
+public class NodeStore extends libraries.maze.NodeStore {
+
+    // MEMBERS ----------------------------------------------------------------
+    private final long[] visited;
+    private final long[] trail;
+    private final long[] head;
+
+    public NodeStore(MazeGrid grid) {
+        super(grid);
+        this.visited = NodeStore.newBits(grid.size());
+        this.trail = NodeStore.newBits(grid.size());
+        this.head = NodeStore.newBits(grid.size());
+    }
+
+    @Override
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    /**
+     * Set the visited flag of every cell
+     *
+     * @param visited the flag value
+     */
+    public void fillVisited(boolean visited) {
+        Arrays.fill(this.visited, visited ? -1L : 0L);
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public boolean isVisited(int id) { return NodeStore.getBit(this.visited, id); }
+    public void setVisited(int id, boolean visited) { NodeStore.setBit(this.visited, id, visited); }
+
+    public boolean isTrail(int id) { return NodeStore.getBit(this.trail, id); }
+    public void setTrail(int id, boolean trail) { NodeStore.setBit(this.trail, id, trail); }
+
+    public boolean isHead(int id) { return NodeStore.getBit(this.head, id); }
+    public void setHead(int id, boolean head) { NodeStore.setBit(this.head, id, head); }
+}
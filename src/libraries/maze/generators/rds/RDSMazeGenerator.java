@@ -2,23 +2,52 @@ package libraries.maze.generators.rds;
 
 import libraries.cli.CLI;
 import libraries.graph.Edge;
+import libraries.graph.Graph;
 import libraries.graph.Node;
 import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
 import libraries.maze.generators.MazeGenerator;
 
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+public final class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    // neighbor directions of the fast path, in the order of the graph edges: north, west, east, south
+    private static final int[] DX = {0, -1, 1, 0};
+    private static final int[] DY = {-1, 0, 0, 1};
+
+    // offset of the cell holding the wall crossed by each direction, walls are stored on the north or west cell
+    private static final int[] WALL_DX = {0, -1, 0, 0};
+    private static final int[] WALL_DY = {-1, 0, 0, 0};
+
+    // direction of the k-th set bit of a 4 bit candidates mask, indexed by {@code mask << 2 | k}
+    private static final byte[] SELECT = new byte[64];
+    static {
+        for (int mask = 0; mask < 16; mask++) {
+            int k = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                if ((mask & (1 << direction)) != 0) RDSMazeGenerator.SELECT[mask << 2 | k++] = (byte) direction;
+            }
+        }
+    }
+
+    // node data storage
+    private final NodeStore store;
 
     public RDSMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public RDSMazeGenerator(int width, int height, long seed) {
 
         // call parent constructor
-        super(width, height);
+        super(width, height, seed);
 
-        // generate the maze
-        this.setMaze(new Maze<>(width, height, NodeData::new, EdgeData::new));
+        // generate the maze keeping node data on a struct of arrays storage
+        this.store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(this.store, this.store::view, EdgeData::new));
     }
 
     /**
@@ -31,8 +60,10 @@ public class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
         CLI.out(CLI.LOGO);
         int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
         int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
 
-        return new RDSMazeGenerator(width, height);
+        if (seed.isEmpty()) return new RDSMazeGenerator(width, height);
+        return new RDSMazeGenerator(width, height, Long.parseLong(seed));
     }
 
     /**
@@ -43,14 +74,24 @@ public class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
      */
     public Maze<NodeData, EdgeData> start(boolean visualize) {
 
+        // without visualization carve straight on the grid
+        if (!visualize) return this.carve();
+
         // create walls for all roads
-        this.graph.getEdges().forEach(e -> e.getValue().setWall(true));
+        Graph<NodeData, EdgeData> graph = this.getGraph();
+        graph.getEdges().forEach(e -> e.getValue().setWall(true));
 
-        // init support stack
+        // init support stack and a reusable cursor to walk neighbors
         Stack<Node<NodeData>> stack = new Stack<>();
+        Graph.Cursor<NodeData, EdgeData> cursor = graph.cursor();
+
+        // single random source of the run
+        SplittableRandom random = this.newRandom();
 
         // choose a random node to start
-        Node<NodeData> start = this.graph.getNodes().stream().toList().get((new Random()).nextInt(this.graph.getNodes().size() - 1));
+        int cell = random.nextInt(this.width * this.height);
+        Node<NodeData> start = this.maze.getNode(cell % this.width, cell / this.width);
+        start.getValue().setVisited(true);
 
         // add first node to the stack
         stack.push(start);
@@ -62,28 +103,36 @@ public class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
             Node<NodeData> node = stack.pop();
 
             // clear previous head marking
-            this.graph.getNeighbors(node).forEach(n -> n.getValue().setHead(false));
+            cursor.reset(node);
+            while (cursor.next()) cursor.getNeighbor().getValue().setHead(false);
 
             // mark current node as head
             node.getValue().setHead(true);
 
-            // show current state if necessary
-            if (visualize) this.show();
+            // show current state
+            this.show();
 
             node.getValue().setHead(false);
             node.getValue().setTrail(true);
-            List<Node<NodeData>> neighbors = this.graph.getNeighbors(node).stream().filter(n -> !n.getValue().isVisited()).toList();
+
+            // count unvisited neighbors
+            int unvisited = 0;
+            cursor.reset(node);
+            while (cursor.next()) if (!cursor.getNeighbor().getValue().isVisited()) unvisited++;
 
             // if it has at least 1 unvisited neighbor
-            if (!neighbors.isEmpty()) {
+            if (unvisited > 0) {
                 // push back current item to the stack to be able to backtrack to it
                 stack.push(node);
 
-                // decide a random neighbor from the list
-                Node<NodeData> selected = neighbors.get((new Random()).nextInt(neighbors.size()));
+                // decide a random unvisited neighbor moving the cursor on it
+                int pick = MazeGenerator.pick(random.nextInt(), unvisited);
+                cursor.reset(node);
+                while (cursor.next()) if (!cursor.getNeighbor().getValue().isVisited() && pick-- == 0) break;
+                Node<NodeData> selected = cursor.getNeighbor();
 
                 // remove wall between the 2 nodes
-                Edge<EdgeData, NodeData> link = this.graph.getLinkEdge(node, selected).orElseThrow(RuntimeException::new);
+                Edge<EdgeData, NodeData> link = cursor.getEdge();
                 link.getValue().setWall(false);
 
                 // mark new cell as visited and push it to the stack
@@ -93,6 +142,100 @@ public class RDSMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
             }
         }
 
+        // draw the final state
+        this.finish();
+
         return this.maze;
     }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Generate the maze working only on primitive arrays
+     * <p>same walk of {@link #start(boolean)}: neighbors are checked in the order of the graph edges (north, west,
+     * east, south) and picked with the same random draws, so a seed generates the same maze on both paths</p>
+     *
+     * @return the generated maze
+     */
+    private Maze<NodeData, EdgeData> carve() {
+        MazeGrid grid = this.maze.getGrid();
+
+        // create walls for all roads and carve the whole grid
+        grid.fill(true);
+        RDSMazeGenerator.carve(grid, 0, 0, this.width, this.height, this.newRandom());
+
+        // leave node data as the graph walk does
+        this.store.fillVisited(true);
+
+        return this.maze;
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Carve a perfect maze on a rectangular region of a grid
+     * <p>The walk is kept as a stack of moves, visited flags on a bitset and walls are cleared straight on the grid
+     * planes. Only walls between cells of the region are removed, so regions made of whole 64 bit words (left and
+     * width multiple of 64, or reaching the right border) can be carved concurrently</p>
+     *
+     * @param grid the grid to carve, walls of the region are expected to be up
+     * @param left the first column of the region
+     * @param top the first row of the region
+     * @param width the number of columns of the region
+     * @param height the number of rows of the region
+     * @param random the random source, also used to pick the starting cell
+     */
+    public static void carve(MazeGrid grid, int left, int top, int width, int height, SplittableRandom random) {
+        int words = grid.getWordsPerRow();
+        long[] east = grid.getEastWalls();
+        long[] south = grid.getSouthWalls();
+        long[][] planes = {south, east, east, south};
+
+        // init the stack of moves taken to reach the current cell and the visited bitset,
+        // backtracking undoes the last move so the cell position never has to be divided out of its index
+        byte[] moves = new byte[width * height];
+        long[] visited = new long[(width * height + 63) >>> 6];
+        int depth = 0;
+
+        // start from a random cell, coordinates are relative to the region
+        int cell = random.nextInt(width * height);
+        int y = cell / width;
+        int x = cell - y * width;
+        visited[cell >>> 6] |= 1L << cell;
+
+        while (true) {
+
+            // collect unvisited neighbors as a direction mask, bits follow the order of the graph edges
+            int candidates = 0;
+            if (y > 0) candidates |= (int) (~visited[(cell - width) >>> 6] >>> (cell - width)) & 1;
+            if (x > 0) candidates |= ((int) (~visited[(cell - 1) >>> 6] >>> (cell - 1)) & 1) << 1;
+            if (x < width - 1) candidates |= ((int) (~visited[(cell + 1) >>> 6] >>> (cell + 1)) & 1) << 2;
+            if (y < height - 1) candidates |= ((int) (~visited[(cell + width) >>> 6] >>> (cell + width)) & 1) << 3;
+
+            // backtrack to the previous cell
+            if (candidates == 0) {
+                if (depth == 0) break;
+                int direction = moves[--depth];
+                x -= RDSMazeGenerator.DX[direction];
+                y -= RDSMazeGenerator.DY[direction];
+                cell = y * width + x;
+                continue;
+            }
+
+            // pick a random candidate and move on it
+            int direction = RDSMazeGenerator.SELECT[candidates << 2 | MazeGenerator.pick(random.nextInt(), Integer.bitCount(candidates))];
+
+            // remove wall between the 2 cells, stored on the north or west cell of the pair
+            int wx = left + x + RDSMazeGenerator.WALL_DX[direction];
+            int wy = top + y + RDSMazeGenerator.WALL_DY[direction];
+            planes[direction][wy * words + (wx >>> 6)] &= ~(1L << wx);
+
+            // mark new cell as visited and push the move
+            x += RDSMazeGenerator.DX[direction];
+            y += RDSMazeGenerator.DY[direction];
+            cell = y * width + x;
+            visited[cell >>> 6] |= 1L << cell;
+            moves[depth++] = (byte) direction;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package libraries.maze.generators.sidewinder;
+
+import libraries.cli.CLI;
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+import libraries.maze.generators.MazeGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sidewinder maze generator working on whole words of wall bits
+ * <p>
+ * Each row is split in runs of cells joined eastward, a random long deciding for 64 cells at once whether the run
+ * goes on (set bit) or ends on that cell (clear bit). Every run then opens the south wall of one of its cells, so the
+ * only per cell work left is walking the run ends found with bit scans. The last row is a single corridor. The maze
+ * is perfect with a visible vertical bias, it is meant as a fast fixture for solvers more than as a puzzle.
+ * </p>
+ */
+public final class SidewinderMazeGenerator extends MazeGenerator<NodeData, EdgeData> {
+
+    public SidewinderMazeGenerator(int width, int height) {
+        this(width, height, ThreadLocalRandom.current().nextLong());
+    }
+
+    public SidewinderMazeGenerator(int width, int height, long seed) {
+
+        // call parent constructor
+        super(width, height, seed);
+
+        // generate the maze keeping node data on a struct of arrays storage
+        NodeStore store = new NodeStore(new MazeGrid(width, height));
+        this.setMaze(new Maze<>(store, store::view, EdgeData::new));
+    }
+
+    /**
+     * Ask for generator essential data and create a new instance of the generator
+     *
+     * @return a new instance of SidewinderMazeGenerator
+     */
+    public static SidewinderMazeGenerator startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2) - 10));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2) - 10));
+        String seed = CLI.input("Seed (leave empty for a random one) : ").trim();
+
+        if (seed.isEmpty()) return new SidewinderMazeGenerator(width, height);
+        return new SidewinderMazeGenerator(width, height, Long.parseLong(seed));
+    }
+
+    /**
+     * Start maze generation
+     *
+     * @param visualize true if we want to show to the cli each generated row, false otherwise
+     * @return the generated maze
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        long[] east = grid.getEastWalls();
+        long[] south = grid.getSouthWalls();
+        int words = grid.getWordsPerRow();
+
+        // border and padding bits of the last word of each row
+        long padding = (this.width & 63) == 0 ? 0 : -1L << this.width;
+        long border = 1L << (this.width - 1);
+
+        // walls of rows not generated yet are all up
+        if (visualize) grid.fill(true);
+
+        SplittableRandom random = this.newRandom();
+        for (int y = 0; y < this.height; y++) {
+            int offset = y * words;
+
+            if (y < this.height - 1) {
+                int run = 0;
+                for (int i = 0; i < words; i++) {
+                    south[offset + i] = -1L;
+
+                    // a clear bit ends the run with an east wall, the last column always ends it
+                    long walls = ~random.nextLong();
+                    if (i == words - 1) walls = walls & ~padding | border;
+                    east[offset + i] = walls | (i == words - 1 ? padding : 0);
+
+                    // open the south wall of a random cell of each run ending on this word
+                    for (long ends = walls; ends != 0; ends &= ends - 1) {
+                        int end = i << 6 | Long.numberOfTrailingZeros(ends);
+                        int cell = run + MazeGenerator.pick(random.nextInt(), end - run + 1);
+                        south[offset + (cell >>> 6)] &= ~(1L << cell);
+                        run = end + 1;
+                    }
+                }
+            } else {
+                // the last row is a single corridor
+                for (int i = 0; i < words; i++) {
+                    east[offset + i] = 0;
+                    south[offset + i] = -1L;
+                }
+                east[offset + words - 1] |= padding | border;
+            }
+
+            // show current state if necessary
+            if (visualize) this.show();
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        return this.maze;
+    }
+}
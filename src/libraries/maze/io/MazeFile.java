@@ -0,0 +1,180 @@
+package libraries.maze.io;
+
+import libraries.maze.EdgeData;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.NodeData;
+import libraries.maze.NodeStore;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary maze file
+ * <p>
+ * The file starts with a fixed little endian header followed by the east and south wall planes of the grid, stored
+ * exactly as they are kept in memory (one bit per cell, every row starting on a new 64 bit word).
+ * Files are read and written through a memory mapping, so loading a maze is a plain copy of the planes.
+ * </p>
+ * <pre>
+ * offset  size  field
+ *      0     4  magic ("MAZE")
+ *      4     2  format version
+ *      6     2  reserved
+ *      8     4  width
+ *     12     4  height
+ *     16     4  start cell index
+ *     20     4  end cell index
+ *     24     8  generation seed
+ *     32     -  east walls plane, then south walls plane
+ * </pre>
+ */
+public class MazeFile {
+
+    /**
+     * file signature, the "MAZE" ascii bytes read as a little endian int
+     */
+    public static final int MAGIC = 0x455A414D;
+
+    /**
+     * current format version
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * size of the header in bytes
+     */
+    public static final int HEADER_SIZE = 32;
+
+    // file content
+    private final MazeGrid grid;
+    private final long seed;
+
+    public MazeFile(MazeGrid grid, long seed) {
+        this.grid = grid;
+        this.seed = seed;
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Write the file on disk, replacing any existing file
+     *
+     * @param path the file path
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path path) throws IOException {
+        long[] east = this.grid.getEastWalls();
+        long[] south = this.grid.getSouthWalls();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, MazeFile.size(east.length));
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            // header
+            buffer.putInt(MazeFile.MAGIC);
+            buffer.putShort(MazeFile.VERSION);
+            buffer.putShort((short) 0);
+            buffer.putInt(this.grid.getWidth());
+            buffer.putInt(this.grid.getHeight());
+            buffer.putInt(this.grid.getStart());
+            buffer.putInt(this.grid.getEnd());
+            buffer.putLong(this.seed);
+
+            // wall planes
+            buffer.asLongBuffer().put(east).put(south);
+        }
+    }
+
+    /**
+     * Create a maze on top of the file grid
+     * <p>node data live on a store, so the maze can be handed straight to any solver</p>
+     *
+     * @return the maze
+     */
+    public Maze<NodeData, EdgeData> toMaze() {
+        NodeStore store = new NodeStore(this.grid);
+        return new Maze<>(store, store::view, EdgeData::new);
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Save a maze grid on disk
+     *
+     * @param grid the grid to save
+     * @param seed the seed used to generate the maze
+     * @param path the file path
+     * @throws IOException if the file can't be written
+     */
+    public static void save(MazeGrid grid, long seed, Path path) throws IOException {
+        new MazeFile(grid, seed).save(path);
+    }
+
+    /**
+     * Load a maze file from disk
+     *
+     * @param path the file path
+     * @return the loaded file
+     * @throws IOException if the file can't be read or is not a valid maze file
+     */
+    public static MazeFile load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MazeFile.HEADER_SIZE) throw new IOException("not a maze file: " + path);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            // check header
+            if (buffer.getInt() != MazeFile.MAGIC) throw new IOException("not a maze file: " + path);
+            short version = buffer.getShort();
+            if (version != MazeFile.VERSION) throw new IOException("unsupported maze file version " + version + ": " + path);
+            buffer.getShort();
+
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            int start = buffer.getInt();
+            int end = buffer.getInt();
+            long seed = buffer.getLong();
+
+            // check sizes before allocating the grid
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) throw new IOException("invalid maze size " + width + "x" + height + ": " + path);
+            long words = (long) ((width + 63) >>> 6) * height;
+            if (size != MazeFile.size(words)) throw new IOException("truncated or corrupted maze file: " + path);
+            if (start < 0 || start >= width * height || end < 0 || end >= width * height) throw new IOException("invalid maze entry points: " + path);
+
+            // copy wall planes straight into the grid
+            MazeGrid grid = new MazeGrid(width, height);
+            grid.setStart(start);
+            grid.setEnd(end);
+            buffer.asLongBuffer().get(grid.getEastWalls()).get(grid.getSouthWalls());
+
+            return new MazeFile(grid, seed);
+        }
+    }
+
+    /**
+     * compute the size of a file
+     *
+     * @param words the number of words of a wall plane
+     * @return the file size in bytes
+     */
+    private static long size(long words) {
+        return MazeFile.HEADER_SIZE + words * 2 * Long.BYTES;
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public MazeGrid getGrid() {
+        return this.grid;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+}
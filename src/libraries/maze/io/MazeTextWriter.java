@@ -0,0 +1,248 @@
+package libraries.maze.io;
+
+import libraries.maze.MazeGrid;
+import libraries.maze.render.MazeRenderer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming plain text export of a maze
+ * <p>
+ * Rows are given one at a time as words of the east and south wall planes and are written as soon as the next row
+ * is known: only the previous row, the current row and one line of characters are kept in memory, so mazes far
+ * larger than the heap can be exported while they are generated. The output uses the same box drawing characters of
+ * the CLI, without styles.
+ * </p>
+ */
+public class MazeTextWriter implements Closeable {
+
+    // output
+    private final Writer out;
+    private final char[] line;
+
+    // maze shape
+    private final int width;
+    private final int words;
+    private final int start;
+    private final int end;
+
+    // rows state, the row waiting to be written and the following one
+    private long[] eastRow;
+    private long[] southRow;
+    private long[] nextEastRow;
+    private long[] nextSouthRow;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Create a writer exporting on a character stream
+     *
+     * @param out the stream to write to
+     * @param width the maze width
+     * @param start the column of the start opening on the top border, -1 for none
+     * @param end the column of the end opening on the bottom border, -1 for none
+     */
+    public MazeTextWriter(Writer out, int width, int start, int end) {
+        if (width <= 0) throw new IllegalArgumentException("width must be greater than zero");
+
+        this.out = out;
+        this.line = new char[width * 2 + 2];
+
+        this.width = width;
+        this.words = (width + 63) >>> 6;
+        this.start = start;
+        this.end = end;
+
+        this.eastRow = new long[this.words];
+        this.southRow = new long[this.words];
+        this.nextEastRow = new long[this.words];
+        this.nextSouthRow = new long[this.words];
+    }
+
+    /**
+     * Create a writer exporting UTF-8 text on a channel
+     *
+     * @param channel the channel to write to
+     * @param width the maze width
+     * @param start the column of the start opening on the top border, -1 for none
+     * @param end the column of the end opening on the bottom border, -1 for none
+     */
+    public MazeTextWriter(WritableByteChannel channel, int width, int start, int end) {
+        this(Channels.newWriter(channel, StandardCharsets.UTF_8), width, start, end);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Add the next row of the maze
+     * <p>bit {@code x} of the row words is the wall of column {@code x}, words are copied so the caller can reuse its
+     * arrays</p>
+     *
+     * @param east the east walls plane
+     * @param south the south walls plane
+     * @param offset the first word of the row on both planes
+     * @throws IOException if the output can't be written
+     */
+    public void writeRow(long[] east, long[] south, int offset) throws IOException {
+        if (this.finished) throw new IllegalStateException("the maze was already finished");
+
+        System.arraycopy(east, offset, this.nextEastRow, 0, this.words);
+        System.arraycopy(south, offset, this.nextSouthRow, 0, this.words);
+
+        // the top border needs only the first row, any other row completes the previous one
+        if (!this.started) this.writeBorder(this.nextEastRow, true);
+        else this.writeCells(false);
+
+        // the next row becomes the pending one
+        long[] swap = this.eastRow;
+        this.eastRow = this.nextEastRow;
+        this.nextEastRow = swap;
+        swap = this.southRow;
+        this.southRow = this.nextSouthRow;
+        this.nextSouthRow = swap;
+        this.started = true;
+    }
+
+    /**
+     * Write the last row and the bottom border, flushing the output
+     *
+     * @throws IOException if the output can't be written
+     */
+    public void finish() throws IOException {
+        if (this.finished) return;
+        if (!this.started) throw new IllegalStateException("a maze needs at least one row");
+
+        this.writeCells(true);
+        this.writeBorder(this.eastRow, false);
+        this.out.flush();
+        this.finished = true;
+    }
+
+    /**
+     * Finish the maze if needed and close the output
+     *
+     * @throws IOException if the output can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (this.started) this.finish();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Export a whole grid on a character stream
+     * <p>the stream is flushed but not closed</p>
+     *
+     * @param grid the grid to export
+     * @param out the stream to write to
+     * @throws IOException if the output can't be written
+     */
+    public static void export(MazeGrid grid, Writer out) throws IOException {
+        int last = grid.index(0, grid.getHeight() - 1);
+        int start = grid.getStart() < grid.getWidth() ? grid.getStart() : -1;
+        int end = grid.getEnd() >= last ? grid.getEnd() - last : -1;
+
+        MazeTextWriter writer = new MazeTextWriter(out, grid.getWidth(), start, end);
+        for (int y = 0; y < grid.getHeight(); y++) writer.writeRow(grid.getEastWalls(), grid.getSouthWalls(), y * grid.getWordsPerRow());
+        writer.finish();
+    }
+
+    /**
+     * Export a whole grid as UTF-8 text on a channel
+     * <p>the channel is not closed</p>
+     *
+     * @param grid the grid to export
+     * @param channel the channel to write to
+     * @throws IOException if the output can't be written
+     */
+    public static void export(MazeGrid grid, WritableByteChannel channel) throws IOException {
+        MazeTextWriter.export(grid, Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Write the top or bottom border
+     *
+     * @param east the east walls of the first or last row
+     * @param top true for the top border, false for the bottom one
+     * @throws IOException if the output can't be written
+     */
+    private void writeBorder(long[] east, boolean top) throws IOException {
+        int opening = top ? this.start : this.end;
+        int length = 0;
+
+        this.line[length++] = top ? '╭' : '╰';
+        for (int x = 0; x < this.width; x++) {
+            this.line[length++] = MazeRenderer.getWallChar(x != opening, true);
+            if (x < this.width - 1) {
+                boolean wall = MazeTextWriter.bit(east, x);
+                this.line[length++] = MazeRenderer.getJunctionChar(!top && wall, top && wall, true, true);
+            }
+        }
+        this.line[length++] = top ? '╮' : '╯';
+        this.line[length++] = '\n';
+
+        this.out.write(this.line, 0, length);
+    }
+
+    /**
+     * Write the cells line of the pending row and the divider below it
+     * <p>the divider needs the east walls of the following row, which is already on the next row buffer</p>
+     *
+     * @param last true if the pending row is the last one, no divider is written
+     * @throws IOException if the output can't be written
+     */
+    private void writeCells(boolean last) throws IOException {
+        int length = 0;
+
+        // cells and east walls
+        this.line[length++] = '│';
+        for (int x = 0; x < this.width; x++) {
+            this.line[length++] = ' ';
+            this.line[length++] = MazeRenderer.getWallChar(x == this.width - 1 || MazeTextWriter.bit(this.eastRow, x), false);
+        }
+        this.line[length++] = '\n';
+        this.out.write(this.line, 0, length);
+
+        if (last) return;
+
+        // south walls and junctions on the right of each cell
+        length = 0;
+        this.line[length++] = MazeRenderer.getJunctionChar(true, true, MazeTextWriter.bit(this.southRow, 0), false);
+        for (int x = 0; x < this.width; x++) {
+            boolean westWall = MazeTextWriter.bit(this.southRow, x);
+            this.line[length++] = MazeRenderer.getWallChar(westWall, true);
+
+            // the right border is a wall on both sides of its junctions
+            boolean border = x == this.width - 1;
+            this.line[length++] = MazeRenderer.getJunctionChar(
+                    border || MazeTextWriter.bit(this.eastRow, x), border || MazeTextWriter.bit(this.nextEastRow, x),
+                    !border && MazeTextWriter.bit(this.southRow, x + 1), westWall
+            );
+        }
+        this.line[length++] = '\n';
+        this.out.write(this.line, 0, length);
+    }
+
+    /**
+     * read a column bit from a row
+     *
+     * @param row the row words
+     * @param x the column
+     * @return true if the bit is set
+     */
+    private static boolean bit(long[] row, int x) {
+        return (row[x >>> 6] & (1L << x)) != 0;
+    }
+}
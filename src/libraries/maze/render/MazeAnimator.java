@@ -0,0 +1,154 @@
+package libraries.maze.render;
+
+import libraries.maze.MazeGrid;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Animates a maze on a dedicated render thread at a fixed frame rate
+ * <p>
+ * The algorithm runs at full speed and calls {@link #publish()} after each step. When the render thread is ready
+ * for a new frame it raises a request, and the next publish copies grid and cells into a snapshot: the copy happens
+ * between two steps, so the frame is always consistent, and steps published while a frame is drawn are skipped.
+ * Terminal output only happens on the render thread, the algorithm never waits for it.
+ * </p>
+ */
+public class MazeAnimator {
+
+    /**
+     * default number of frames per second
+     */
+    public static final int DEFAULT_FPS = 30;
+
+    // snapshot exchange states
+    private static final int IDLE = 0;
+    private static final int REQUESTED = 1;
+    private static final int READY = 2;
+
+    // source state
+    private final MazeGrid grid;
+    private final IntFunction<String> cells;
+
+    // last published snapshot
+    private final MazeGrid snapshot;
+    private final String[] snapshotCells;
+
+    // render thread
+    private final MazeDiffRenderer renderer;
+    private final long interval;
+    private final AtomicInteger state;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Create an animator for a grid
+     *
+     * @param grid the grid the algorithm works on
+     * @param cells the function returning the string to print for each cell index
+     * @param fps the number of frames per second to draw
+     * @param out the stream to draw on
+     */
+    public MazeAnimator(MazeGrid grid, IntFunction<String> cells, int fps, PrintStream out) {
+        if (fps <= 0) throw new IllegalArgumentException("fps must be greater than zero");
+
+        this.grid = grid;
+        this.cells = cells;
+
+        this.snapshot = new MazeGrid(grid);
+        this.snapshotCells = new String[grid.size()];
+
+        this.renderer = new MazeDiffRenderer(this.snapshot, out);
+        this.interval = 1_000_000_000L / fps;
+        this.state = new AtomicInteger(MazeAnimator.IDLE);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Publish the current state of the algorithm
+     * <p>called by the algorithm between steps, it only copies the state when a frame was requested and never
+     * blocks</p>
+     */
+    public void publish() {
+
+        // start rendering on the first step
+        if (this.thread == null) this.start();
+
+        // skip the step if the render thread is busy
+        if (this.state.get() != MazeAnimator.REQUESTED) return;
+
+        this.copy();
+        this.state.set(MazeAnimator.READY);
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Stop the render thread and draw the final state
+     * <p>waits at most for the frame being drawn, then draws the last frame on the caller thread</p>
+     */
+    public void finish() {
+        if (this.thread != null) {
+            this.running = false;
+            LockSupport.unpark(this.thread);
+
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            this.thread = null;
+        }
+
+        this.copy();
+        this.renderer.render(i -> this.snapshotCells[i]);
+        this.state.set(MazeAnimator.IDLE);
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * start the render thread
+     */
+    private void start() {
+        this.running = true;
+        this.thread = new Thread(this::loop, "maze-render");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * render thread main loop, request a snapshot and draw it once every frame interval
+     */
+    private void loop() {
+        long next = System.nanoTime();
+
+        while (this.running) {
+
+            // ask the algorithm for a snapshot and wait for it
+            this.state.set(MazeAnimator.REQUESTED);
+            while (this.running && this.state.get() != MazeAnimator.READY) LockSupport.parkNanos(this.interval);
+            if (this.state.get() != MazeAnimator.READY) break;
+
+            // draw it and wait for the next frame
+            this.renderer.render(i -> this.snapshotCells[i]);
+            this.state.set(MazeAnimator.IDLE);
+
+            next += this.interval;
+            for (long wait = next - System.nanoTime(); wait > 0 && this.running; wait = next - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            next = Math.max(next, System.nanoTime());
+        }
+    }
+
+    /**
+     * copy grid and cells on the snapshot
+     */
+    private void copy() {
+        this.snapshot.copyFrom(this.grid);
+        for (int i = 0; i < this.snapshotCells.length; i++) this.snapshotCells[i] = this.cells.apply(i);
+    }
+}
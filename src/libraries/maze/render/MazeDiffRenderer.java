@@ -0,0 +1,191 @@
+package libraries.maze.render;
+
+import libraries.cli.CLI;
+import libraries.maze.MazeGrid;
+
+import java.io.PrintStream;
+import java.util.function.IntFunction;
+
+/**
+ * Incremental terminal renderer for maze animations
+ * <p>
+ * The first frame clears the screen and draws logo and maze as usual. Every following frame is compared with the
+ * previous one: changed wall words are found by xor-ing the grid bit planes with a copy of the last frame ones,
+ * changed cells by comparing their strings. Only the characters on changed positions are written, each preceded by
+ * an ANSI cursor move when the cursor is not already there, so a step touching few cells outputs a few bytes.
+ * </p>
+ */
+public class MazeDiffRenderer {
+
+    // grid to render
+    private final MazeGrid grid;
+    private final MazeRenderer renderer;
+    private final PrintStream out;
+
+    // last frame state
+    private final String[] cells;
+    private final long[] east;
+    private final long[] south;
+    private boolean drawn;
+
+    // frame placement on the screen (1 based terminal coordinates)
+    private int top;
+    private int left;
+
+    // reusable output buffer and cursor tracking
+    private final StringBuilder builder;
+    private int cursorLine;
+    private int cursorColumn;
+
+    public MazeDiffRenderer(MazeGrid grid, PrintStream out) {
+        this.grid = grid;
+        this.renderer = new MazeRenderer(grid, out);
+        this.out = out;
+
+        this.cells = new String[grid.size()];
+        this.east = new long[grid.getEastWalls().length];
+        this.south = new long[grid.getSouthWalls().length];
+        this.drawn = false;
+
+        this.builder = new StringBuilder();
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Show the current maze state, writing only what changed since the previous frame
+     *
+     * @param cells the function returning the string to print for each cell index
+     */
+    public void render(IntFunction<String> cells) {
+        if (!this.drawn) this.renderFull(cells);
+        else this.renderChanges(cells);
+    }
+
+    /**
+     * Force the next frame to redraw the whole screen
+     */
+    public void reset() {
+        this.drawn = false;
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Draw logo and complete maze, storing the frame state
+     *
+     * @param cells the function returning the string to print for each cell index
+     */
+    private void renderFull(IntFunction<String> cells) {
+
+        // find out where the maze will be placed, right below the logo
+        this.top = 1;
+        if (CLI.LOGO != null) this.top += (int) CLI.LOGO.chars().filter(c -> c == '\n').count();
+        this.left = this.renderer.getPadding() + 1;
+
+        // draw complete frame
+        CLI.clear();
+        if (CLI.LOGO != null) CLI.out(CLI.LOGO);
+        this.renderer.render(cells).write(this.out);
+
+        // store frame state
+        for (int i = 0; i < this.cells.length; i++) this.cells[i] = cells.apply(i);
+        System.arraycopy(this.grid.getEastWalls(), 0, this.east, 0, this.east.length);
+        System.arraycopy(this.grid.getSouthWalls(), 0, this.south, 0, this.south.length);
+
+        // the cursor is left at the end of the last line
+        this.cursorLine = this.grid.getHeight() * 2;
+        this.cursorColumn = this.grid.getWidth() * 2 + 1;
+        this.drawn = true;
+    }
+
+    /**
+     * Write only changed walls and cells
+     *
+     * @param cells the function returning the string to print for each cell index
+     */
+    private void renderChanges(IntFunction<String> cells) {
+        int width = this.grid.getWidth();
+        int height = this.grid.getHeight();
+        int words = this.grid.getWordsPerRow();
+        long[] east = this.grid.getEastWalls();
+        long[] south = this.grid.getSouthWalls();
+
+        this.builder.setLength(0);
+
+        // redraw wall characters around changed east walls
+        for (int i = 0; i < east.length; i++) {
+            long diff = east[i] ^ this.east[i];
+            this.east[i] = east[i];
+
+            for (; diff != 0; diff &= diff - 1) {
+                int x = ((i % words) << 6) + Long.numberOfTrailingZeros(diff);
+                int y = i / words;
+                if (x >= width - 1) continue;
+
+                this.putWall(y * 2, x * 2 + 2);
+                this.putWall(y * 2 + 1, x * 2 + 2);
+                this.putWall(y * 2 + 2, x * 2 + 2);
+            }
+        }
+
+        // redraw wall characters around changed south walls
+        for (int i = 0; i < south.length; i++) {
+            long diff = south[i] ^ this.south[i];
+            this.south[i] = south[i];
+
+            for (; diff != 0; diff &= diff - 1) {
+                int x = ((i % words) << 6) + Long.numberOfTrailingZeros(diff);
+                int y = i / words;
+                if (x >= width || y >= height - 1) continue;
+
+                this.putWall(y * 2 + 2, x * 2);
+                this.putWall(y * 2 + 2, x * 2 + 1);
+                this.putWall(y * 2 + 2, x * 2 + 2);
+            }
+        }
+
+        // redraw changed cells
+        for (int i = 0; i < this.cells.length; i++) {
+            String cell = cells.apply(i);
+            if (cell == this.cells[i] || cell.equals(this.cells[i])) continue;
+
+            this.cells[i] = cell;
+            this.moveTo(this.grid.getY(i) * 2 + 1, this.grid.getX(i) * 2 + 1);
+            this.builder.append(cell);
+            this.cursorColumn++;
+        }
+
+        // park the cursor below the maze and output the changes
+        if (this.builder.isEmpty()) return;
+        this.moveTo(height * 2 + 1, 1 - this.left);
+        this.out.append(this.builder);
+        this.out.flush();
+    }
+
+    /**
+     * Write the wall character of a frame position
+     *
+     * @param line the frame line
+     * @param column the frame column
+     */
+    private void putWall(int line, int column) {
+        this.moveTo(line, column);
+        this.builder.append(this.renderer.getFrameChar(line, column));
+        this.cursorColumn++;
+    }
+
+    /**
+     * Move the cursor on a frame position if it is not already there
+     *
+     * @param line the frame line
+     * @param column the frame column
+     */
+    private void moveTo(int line, int column) {
+        if (line == this.cursorLine && column == this.cursorColumn) return;
+
+        this.builder.append("\033[").append(this.top + line).append(';').append(this.left + column).append('H');
+        this.cursorLine = line;
+        this.cursorColumn = column;
+    }
+}
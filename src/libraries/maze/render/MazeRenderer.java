@@ -0,0 +1,349 @@
+package libraries.maze.render;
+
+import libraries.cli.CLI;
+import libraries.maze.MazeGrid;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.function.IntFunction;
+
+/**
+ * Renders a maze grid into a reusable character buffer
+ * <p>
+ * Every frame is built in one linear pass over the grid: walls and junction characters are computed straight from
+ * the grid bit planes, cell rows are written on the main buffer while the divider row below them is filled on a
+ * side buffer. Buffers are sized once and reused, so rendering a frame doesn't allocate anything per cell.
+ * </p>
+ */
+public class MazeRenderer {
+
+    // const used to handle junction char choosing, indexed by MazeGrid direction bits
+    private static final char[] JUNCTION_CHARS = {
+            ' ', '│', '│', '│', '─', '└', '┌', '├',
+            '─', '┘', '┐', '┤', '─', '┴', '┬', '┼'
+    };
+
+    // screen width used to center the maze
+    private static final int SCREEN_WIDTH = CLI.getWidth();
+
+    // expected visible length of a styled cell (ansi style + char + reset)
+    private static final int CELL_LENGTH = 16;
+
+    // grid to render
+    private final MazeGrid grid;
+
+    // reusable buffers
+    private char[] chars;
+    private int length;
+    private final char[] divider;
+    private final CharsetEncoder encoder;
+    private ByteBuffer bytes;
+
+    public MazeRenderer(MazeGrid grid, PrintStream out) {
+        this.grid = grid;
+
+        // pre size buffers for the grid
+        this.chars = new char[(grid.getHeight() * 2 + 1) * (grid.getWidth() * (CELL_LENGTH + 1) + 2)];
+        this.divider = new char[grid.getWidth() * 2 + 2];
+        this.encoder = out.charset().newEncoder();
+        this.bytes = ByteBuffer.allocate(this.chars.length * 3);
+    }
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * Render the grid on the internal buffer, centered on the screen
+     *
+     * @param cells the function returning the string to print for each cell index
+     * @return fluently returns itself
+     */
+    public MazeRenderer render(IntFunction<String> cells) {
+        return this.render(cells, this.getPadding());
+    }
+
+    /**
+     * retrieve the padding needed to center the maze on the screen
+     *
+     * @return the number of spaces to put before each line
+     */
+    public int getPadding() {
+        return Math.max(0, Math.floorDiv(MazeRenderer.SCREEN_WIDTH - (this.grid.getWidth() * 2 + 1), 2));
+    }
+
+    /**
+     * Render the grid on the internal buffer
+     *
+     * @param cells the function returning the string to print for each cell index
+     * @param padding the number of spaces to put before each line
+     * @return fluently returns itself
+     */
+    public MazeRenderer render(IntFunction<String> cells, int padding) {
+        int width = this.grid.getWidth();
+        int height = this.grid.getHeight();
+        int words = this.grid.getWordsPerRow();
+        long[] east = this.grid.getEastWalls();
+        long[] south = this.grid.getSouthWalls();
+
+        this.length = 0;
+
+        // generate first row of the maze
+        int opening = this.getOpening(true);
+        this.pad(padding).append('╭');
+        for (int x = 0; x < width; x++) {
+            this.append(MazeRenderer.getWallChar(x != opening, true));
+            if (x < width - 1) this.append(MazeRenderer.getJunctionChar(false, MazeRenderer.bit(east, 0, x), true, true));
+        }
+        this.append('╮').append('\n');
+
+        // generate maze main body
+        for (int y = 0; y < height; y++) {
+            int row = y * words;
+            int next = row + words;
+            boolean lastRow = y == height - 1;
+            int d = 0;
+
+            // append start of both lines
+            this.pad(padding).append('│');
+            if (!lastRow) this.divider[d++] = MazeRenderer.getJunctionChar(true, true, MazeRenderer.bit(south, row, 0), false);
+
+            for (int x = 0; x < width; x++) {
+                boolean lastColumn = x == width - 1;
+
+                // taking as center the junction on the right of current cell find all walls
+                boolean northWall = lastColumn || MazeRenderer.bit(east, row, x);
+
+                // append current cell and its right wall
+                this.append(cells.apply(y * width + x));
+                this.append(MazeRenderer.getWallChar(northWall, false));
+
+                // fill the divider below the cell, the right border is a wall on both sides of its junctions
+                if (lastRow) continue;
+                boolean westWall = MazeRenderer.bit(south, row, x);
+                this.divider[d++] = MazeRenderer.getWallChar(westWall, true);
+                this.divider[d++] = MazeRenderer.getJunctionChar(
+                        northWall, lastColumn || MazeRenderer.bit(east, next, x),
+                        !lastColumn && MazeRenderer.bit(south, row, x + 1), westWall
+                );
+            }
+
+            // next line both lines
+            this.append('\n');
+            if (!lastRow) this.pad(padding).append(this.divider, d).append('\n');
+        }
+
+        // generate last row of the maze
+        opening = this.getOpening(false);
+        int row = (height - 1) * words;
+        this.pad(padding).append('╰');
+        for (int x = 0; x < width; x++) {
+            this.append(MazeRenderer.getWallChar(x != opening, true));
+            if (x < width - 1) this.append(MazeRenderer.getJunctionChar(MazeRenderer.bit(east, row, x), false, true, true));
+        }
+        this.append('╯');
+
+        return this;
+    }
+
+    /**
+     * Compute the wall character at a position of the frame
+     * <p>lines and columns are relative to the top left corner of the maze, cells are on odd lines and odd columns
+     * and can't be computed by this method</p>
+     *
+     * @param line the frame line, from 0 to {@code 2 * height}
+     * @param column the frame column, from 0 to {@code 2 * width}
+     * @return the wall or junction character
+     */
+    public char getFrameChar(int line, int column) {
+        int width = this.grid.getWidth();
+        int height = this.grid.getHeight();
+        int x = (column - 1) >> 1;
+        int y = (line - 1) >> 1;
+
+        // top and bottom border
+        if (line == 0 || line == height * 2) {
+            boolean top = line == 0;
+            int row = top ? 0 : height - 1;
+
+            if (column == 0) return top ? '╭' : '╰';
+            if (column == width * 2) return top ? '╮' : '╯';
+            if ((column & 1) == 1) return MazeRenderer.getWallChar(x != this.getOpening(top), true);
+            boolean wall = this.grid.hasEastWall((column >> 1) - 1, row);
+            return MazeRenderer.getJunctionChar(!top && wall, top && wall, true, true);
+        }
+
+        // cell lines, only vertical walls
+        if ((line & 1) == 1) {
+            if ((column & 1) == 1) throw new IllegalArgumentException("cells can't be computed as wall characters");
+            return MazeRenderer.getWallChar(column == 0 || this.grid.hasEastWall((column >> 1) - 1, y), false);
+        }
+
+        // divider lines
+        y = (line >> 1) - 1;
+        if (column == 0) return MazeRenderer.getJunctionChar(true, true, this.grid.hasSouthWall(0, y), false);
+        if ((column & 1) == 1) return MazeRenderer.getWallChar(this.grid.hasSouthWall(x, y), true);
+
+        // junction on the right of the cell, the right border is a wall on both sides of its junctions
+        x = (column >> 1) - 1;
+        boolean border = x == width - 1;
+        return MazeRenderer.getJunctionChar(
+                border || this.grid.hasEastWall(x, y), border || this.grid.hasEastWall(x, y + 1),
+                !border && this.grid.hasSouthWall(x + 1, y), this.grid.hasSouthWall(x, y)
+        );
+    }
+
+    /**
+     * Write the last rendered frame on the given stream
+     *
+     * @param out the stream to write to, it must use the charset given on creation
+     */
+    public void write(PrintStream out) {
+
+        // encode chars reusing the byte buffer, growing it only if needed
+        this.bytes.clear();
+        this.encoder.reset();
+        CharBuffer in = CharBuffer.wrap(this.chars, 0, this.length);
+        while (true) {
+            CoderResult result = this.encoder.encode(in, this.bytes, true);
+            if (!result.isOverflow()) break;
+
+            ByteBuffer grown = ByteBuffer.allocate(this.bytes.capacity() * 2);
+            this.bytes.flip();
+            grown.put(this.bytes);
+            this.bytes = grown;
+        }
+        this.encoder.flush(this.bytes);
+
+        out.write(this.bytes.array(), 0, this.bytes.position());
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        return new String(this.chars, 0, this.length);
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * retrieve the column of the entry point opened on a border
+     * <p>the start is opened on the top border and the end on the bottom one, only when they lie on that row</p>
+     *
+     * @param top true for the top border, false for the bottom one
+     * @return the column of the opening, -1 if the border is closed
+     */
+    private int getOpening(boolean top) {
+        int cell = top ? this.grid.getStart() : this.grid.getEnd();
+        int row = top ? 0 : this.grid.getHeight() - 1;
+        return this.grid.getY(cell) == row ? this.grid.getX(cell) : -1;
+    }
+
+    /**
+     * append padding spaces
+     *
+     * @param padding the number of spaces
+     * @return fluently returns itself
+     */
+    private MazeRenderer pad(int padding) {
+        for (int i = 0; i < padding; i++) this.append(' ');
+        return this;
+    }
+
+    /**
+     * append a char to the buffer
+     *
+     * @param c the char to append
+     * @return fluently returns itself
+     */
+    private MazeRenderer append(char c) {
+        if (this.length == this.chars.length) this.grow(1);
+        this.chars[this.length++] = c;
+        return this;
+    }
+
+    /**
+     * append a string to the buffer
+     *
+     * @param s the string to append
+     * @return fluently returns itself
+     */
+    private MazeRenderer append(String s) {
+        if (this.length + s.length() > this.chars.length) this.grow(s.length());
+        s.getChars(0, s.length(), this.chars, this.length);
+        this.length += s.length();
+        return this;
+    }
+
+    /**
+     * append the first chars of an array to the buffer
+     *
+     * @param chars the chars to append
+     * @param count the number of chars to append
+     * @return fluently returns itself
+     */
+    private MazeRenderer append(char[] chars, int count) {
+        if (this.length + count > this.chars.length) this.grow(count);
+        System.arraycopy(chars, 0, this.chars, this.length, count);
+        this.length += count;
+        return this;
+    }
+
+    /**
+     * grow the buffer to fit at least the given number of extra chars
+     *
+     * @param extra the number of chars to fit
+     */
+    private void grow(int extra) {
+        char[] grown = new char[Math.max(this.chars.length * 2, this.length + extra)];
+        System.arraycopy(this.chars, 0, grown, 0, this.length);
+        this.chars = grown;
+    }
+
+    // STATIC FUNCTIONS -----------------------------------------------------------------
+
+    /**
+     * retrieve the character of a wall segment between 2 junctions
+     *
+     * @param wall true if the wall is up
+     * @param horizontal true for a wall below a cell, false for a wall on its right
+     * @return the wall character
+     */
+    public static char getWallChar(boolean wall, boolean horizontal) {
+        if (!wall) return ' ';
+        return horizontal ? '─' : '│';
+    }
+
+    /**
+     * retrieve the junction character joining the given walls
+     * <p>borders count as walls, so a junction of the left border has north and south set and one of the top border
+     * has east and west set. Corners are drawn rounded and are not covered</p>
+     *
+     * @param north true if the wall above the junction is up
+     * @param south true if the wall below the junction is up
+     * @param east true if the wall on the right of the junction is up
+     * @param west true if the wall on the left of the junction is up
+     * @return the junction character
+     */
+    public static char getJunctionChar(boolean north, boolean south, boolean east, boolean west) {
+        int index = 0;
+        if (north) index |= MazeGrid.NORTH;
+        if (south) index |= MazeGrid.SOUTH;
+        if (east) index |= MazeGrid.EAST;
+        if (west) index |= MazeGrid.WEST;
+        return MazeRenderer.JUNCTION_CHARS[index];
+    }
+
+    /**
+     * read a cell bit from a grid plane
+     *
+     * @param plane the bit plane
+     * @param row the first word of the cell row
+     * @param x the cell column
+     * @return true if the bit is set
+     */
+    private static boolean bit(long[] plane, int row, int x) {
+        return (plane[row + (x >>> 6)] & (1L << x)) != 0;
+    }
+}
@@ -1,10 +1,10 @@
 package libraries.maze.solvers;
 
-import libraries.cli.CLI;
 import libraries.graph.Graph;
 import libraries.maze.EdgeData;
 import libraries.maze.Maze;
 import libraries.maze.NodeData;
+import libraries.maze.render.MazeAnimator;
 import libraries.maze.solvers.MazeSolverInterface;
 
 /**
@@ -16,11 +16,6 @@ import libraries.maze.solvers.MazeSolverInterface;
  */
 public abstract class MazeSolver<N extends NodeData, E extends EdgeData> implements MazeSolverInterface<N, E> {
 
-    /**
-     * number of changes per second to display
-     */
-    public static final int CPS = 10;
-
     // maze dimensions
     protected int width;
     protected int height;
@@ -29,9 +24,13 @@ public abstract class MazeSolver<N extends NodeData, E extends EdgeData> impleme
     protected Maze<N, E> maze;
     protected Graph<N, E> graph;
 
+    // visualization
+    protected int fps = MazeAnimator.DEFAULT_FPS;
+    private MazeAnimator animator;
+
     // PUBLIC FUNCTIONS -----------------------------------------------------------------
 
-    public MazeSolver(Maze<NodeData, EdgeData> maze) {
+    public MazeSolver(Maze<? extends NodeData, ? extends EdgeData> maze) {
         this.width = maze.getWidth();
         this.height = maze.getHeight();
     }
@@ -57,20 +56,17 @@ public abstract class MazeSolver<N extends NodeData, E extends EdgeData> impleme
     // PROTECTED FUNCTIONS --------------------------------------------------------------
 
     /**
-     * Show the maze current state on the CLI
+     * Publish the maze current state to the CLI animation
+     * <p>frames are drawn on a separate thread at {@link #getFps()} frames per second, this call never waits for the
+     * terminal and steps happening while a frame is drawn are skipped</p>
      *
      * @param style if we need to show all styles or only the default ones
      */
     protected void show(boolean style) {
-        CLI.clear();
-        if (CLI.LOGO != null) CLI.out(CLI.LOGO);
-
-        this.maze.show(style);
-        try {
-            Thread.sleep(1000 / MazeSolver.CPS);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+
+        // start the animation on the first step
+        if (this.animator == null) this.animator = this.maze.animate(this.fps, style);
+        this.animator.publish();
     }
 
     /**
@@ -82,6 +78,17 @@ public abstract class MazeSolver<N extends NodeData, E extends EdgeData> impleme
         this.show(true);
     }
 
+    /**
+     * Stop the CLI animation drawing the final maze state
+     * <p>should be called at the end of a visualized run, it does nothing if nothing was shown</p>
+     */
+    protected void finish() {
+        if (this.animator == null) return;
+
+        this.animator.finish();
+        this.animator = null;
+    }
+
     // GETTERS / SETTERS ----------------------------------------------------------------
 
     public int getWidth() {
@@ -100,6 +107,15 @@ public abstract class MazeSolver<N extends NodeData, E extends EdgeData> impleme
         this.height = height;
     }
 
+    public int getFps() {
+        return this.fps;
+    }
+
+    public void setFps(int fps) {
+        if (fps <= 0) throw new IllegalArgumentException("fps must be greater than zero");
+        this.fps = fps;
+    }
+
     public Maze<N, E> getMaze() {
         return this.maze;
     }
@@ -1,34 +1,71 @@
 package libraries.maze.solvers.astar;
 
 import libraries.cli.CLI;
-import libraries.graph.Edge;
-import libraries.graph.Node;
+import libraries.graph.BucketQueue;
+import libraries.graph.IndexedHeap;
+import libraries.graph.MinQueue;
+import libraries.maze.JunctionGraph;
 import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
 import libraries.maze.generators.rds.RDSMazeGenerator;
+import libraries.maze.io.MazeFile;
 import libraries.maze.solvers.MazeSolver;
 
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 public class AStarSolver extends MazeSolver<NodeData, EdgeData> {
 
-    // CONST ----------------------------------------------------------------------------
-
     /**
-     * Comparator used to define if a node has better evaluation than another
+     * Open set implementations
+     * <p>{@link #HEAP} is an {@link IndexedHeap} breaking f ties in favor of the cell closer to the end, {@link #BUCKETS}
+     * a {@link BucketQueue} with a bucket per f value and last in first out ties, O(1) on every operation</p>
      */
-    private static final Comparator<Node<NodeData>> COMPARATOR = Comparator.comparingInt(n -> n.getValue().getF());
+    public enum OpenSet { HEAP, BUCKETS }
 
     // MEMBERS --------------------------------------------------------------------------
+
+    /**
+     * scratch state of the solver, laid over the shared maze topology
+     */
+    private final NodeStore store;
+
+    /**
+     * open set implementation used by the next runs
+     */
+    private OpenSet openSet = OpenSet.HEAP;
+
+    /**
+     * true to search the junction graph instead of every cell
+     */
+    private boolean contracted;
+
+    /**
+     * junction graph of the maze, built on the first contracted run
+     */
+    private JunctionGraph junctions;
+
+    /**
+     * number of nodes taken from the openset by the last run
+     */
+    private long expanded;
+
+    /**
+     * length of the last path found, -1 if none
+     */
+    private int length = -1;
+
     // PUBLIC FUNCTIONS -----------------------------------------------------------------
 
-    public AStarSolver(Maze<libraries.maze.NodeData, libraries.maze.EdgeData> maze) {
+    public AStarSolver(Maze<? extends libraries.maze.NodeData, ? extends libraries.maze.EdgeData> maze) {
 
         // call parent constructor
         super(maze);
 
-        // cast base maze implementation into a* maze implementation
-        this.maze = maze.castTo(AStarSolver::castNodeData, AStarSolver::castEdgeData);
-        this.graph = this.maze.getGraph();
+        // lay a* node data over the maze topology, walls are shared and never copied
+        this.store = new NodeStore(maze.getGrid());
+        this.maze = maze.overlay(this.store, this.store::view, EdgeData::new);
 
     }
 
@@ -40,14 +77,24 @@ public class AStarSolver extends MazeSolver<NodeData, EdgeData> {
     public static AStarSolver startUserInteraction() {
         CLI.clear();
         CLI.out(CLI.LOGO);
+
+        // solve a saved maze if a file is given
+        String file = CLI.input("Maze file to solve (leave empty to generate a new maze) : ").trim();
+        if (!file.isEmpty()) {
+            try {
+                return new AStarSolver(MazeFile.load(Path.of(file)).toMaze());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
         int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2)));
         int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2)));
 
         RDSMazeGenerator generator = new RDSMazeGenerator(width, height);
         generator.start(false);
-        Maze<libraries.maze.NodeData, libraries.maze.EdgeData> maze = generator.getMaze().getNormalized();
 
-        return new AStarSolver(maze);
+        return new AStarSolver(generator.getMaze());
     }
 
     /**
@@ -57,59 +104,70 @@ public class AStarSolver extends MazeSolver<NodeData, EdgeData> {
      * @return the generated maze
      */
     public Maze<NodeData, EdgeData> start(boolean visualize) {
-
-        // retrieve the start and end node
-        Node<NodeData> start = this.maze.getStartNode();
-        Node<NodeData> end = this.maze.getEndNode();
-
-        // create priority queue to store nodes scores
-        PriorityQueue<Node<NodeData>> openset = new PriorityQueue<>(AStarSolver.COMPARATOR);
-
-        // create a map to store best path for each node
-        Map<Node<NodeData>, Node<NodeData>> from = new HashMap<>();
-
-        // calculate g,h and f (is set automatically) cost of the start node
-        start.getValue().setG(0);
-        start.getValue().setH(this.heuristic(start, end));
+        this.store.clear();
+        this.expanded = 0;
+        this.length = -1;
+        if (this.contracted) return this.startContracted(visualize);
+
+        // retrieve the maze topology with start and end cells
+        MazeGrid grid = this.maze.getGrid();
+        int start = grid.getStart();
+        int end = grid.getEnd();
+
+        // create the queue to store cells by score, it tracks where each cell is so it can be found and re-sorted
+        // when a better path to it is found
+        MinQueue openset = this.openSet == OpenSet.BUCKETS ? new BucketQueue(grid.size()) : new IndexedHeap(grid.size());
+
+        // create an array to store best path for each cell
+        int[] from = new int[grid.size()];
+        Arrays.fill(from, -1);
+
+        // calculate g,h and f (is derived automatically) cost of the start cell
+        this.store.setG(start, 0);
+        int endX = grid.getX(end);
+        int endY = grid.getY(end);
+        this.store.setH(start, this.heuristic(grid.getX(start), grid.getY(start), endX, endY));
 
         // add start to openset
-        openset.add(start);
+        openset.push(start, this.priority(start));
 
         while(!openset.isEmpty()) {
 
             // show current progress
             if(visualize) this.show();
 
-            Node<NodeData> node = openset.poll();
-            if(node == null) break;
+            int cell = openset.poll();
+            this.expanded++;
 
-            // check if current node is the goal
-            if(node == end) return this.reconstructPath(from, node);
+            // check if current cell is the goal
+            if(cell == end) return this.reconstructPath(from, cell, visualize);
 
-            // find all reachable nodes
-            List<Node<NodeData>> neighbors = this.graph.getEdges(node).stream()
-                .filter((Edge<EdgeData, NodeData> e) -> !e.getValue().isWall())
-                .map((Edge<EdgeData, NodeData> e) -> e.getNode1() != node ? e.getNode1() : e.getNode2())
-                .toList();
+            // cycle all reachable cells, neighbors coordinates are derived from the cell ones
+            int sides = grid.getOpenSides(cell);
+            int x = grid.getX(cell);
+            int y = grid.getY(cell);
+            for(int direction = MazeGrid.NORTH; direction <= MazeGrid.WEST; direction <<= 1) {
 
-            for(Node<NodeData> neighbor : neighbors) {
+                // skip walls
+                if((sides & direction) == 0) continue;
+                int nx = direction == MazeGrid.EAST ? x + 1 : direction == MazeGrid.WEST ? x - 1 : x;
+                int ny = direction == MazeGrid.SOUTH ? y + 1 : direction == MazeGrid.NORTH ? y - 1 : y;
+                int neighbor = ny * this.width + nx;
 
                 // calculate the g score of the neighbor
-                int candidate_g = node.getValue().getG() + this.distance(node, neighbor);
+                int candidate_g = this.store.getG(cell) + this.distance(cell, neighbor);
 
                 // if the founded score is better than previous one
-                if(candidate_g < neighbor.getValue().getG()) {
+                if(candidate_g < this.store.getG(neighbor)) {
 
                     // track the path and update the g/h/f factor
-                    from.put(neighbor, node);
-                    neighbor.getValue().setG(candidate_g);
-                    neighbor.getValue().setH(this.heuristic(neighbor, end));
+                    from[neighbor] = cell;
+                    this.store.setG(neighbor, candidate_g);
+                    this.store.setH(neighbor, this.heuristic(nx, ny, endX, endY));
 
-                    // if not present add the neighbor to the openset
-                    if(!openset.contains(neighbor)) {
-                        neighbor.getValue().setCandidate(true);
-                        openset.add(neighbor);
-                    }
+                    // add the neighbor to the openset, or move it up if already queued
+                    if(!openset.contains(neighbor)) this.store.setCandidate(neighbor, true);
+                    openset.push(neighbor, this.priority(neighbor));
 
                 }
 
@@ -117,51 +175,172 @@ public class AStarSolver extends MazeSolver<NodeData, EdgeData> {
         }
 
         // error
+        if (visualize) this.finish();
         return null;
     }
 
     // PRIVATE FUNCTIONS ----------------------------------------------------------------
 
     /**
-     * Reconstruct path of the maze
+     * Run the search on the junction graph, corridors are crossed in a single step weighted with their length
+     * <p>scores are still kept on the cells of the junctions, so the result is the same of a search on every cell</p>
      *
-     * @param from the list containing all possible paths
-     * @param node the end node
+     * @param visualize true if we want to show to the cli each generation step, false otherwise
      * @return the maze with highlighted path
      */
-    private Maze<NodeData, EdgeData> reconstructPath(Map<Node<NodeData>,Node<NodeData>> from, Node<NodeData> node) {
+    private Maze<NodeData, EdgeData> startContracted(boolean visualize) {
+
+        // retrieve the maze topology with its junctions
+        MazeGrid grid = this.maze.getGrid();
+        if (this.junctions == null) this.junctions = new JunctionGraph(grid);
+        JunctionGraph junctions = this.junctions;
+        int start = junctions.getId(grid.getStart());
+        int end = junctions.getId(grid.getEnd());
+        int endX = grid.getX(grid.getEnd());
+        int endY = grid.getY(grid.getEnd());
+
+        // openset of junctions, with the best previous junction and the edge slot leading from it
+        MinQueue openset = this.openSet == OpenSet.BUCKETS ? new BucketQueue(junctions.size()) : new IndexedHeap(junctions.size());
+        int[] from = new int[junctions.size()];
+        int[] via = new int[junctions.size()];
+        Arrays.fill(from, -1);
+
+        // calculate g,h and f (is derived automatically) cost of the start cell
+        this.store.setG(grid.getStart(), 0);
+        this.store.setH(grid.getStart(), this.heuristic(grid.getX(grid.getStart()), grid.getY(grid.getStart()), endX, endY));
+
+        // add start to openset
+        openset.push(start, this.priority(grid.getStart()));
+
+        while(!openset.isEmpty()) {
+
+            // show current progress
+            if(visualize) this.show();
+
+            int node = openset.poll();
+            this.expanded++;
+
+            // check if current junction is the goal
+            if(node == end) return this.reconstructPath(junctions, from, via, node, visualize);
 
-        while (from.containsKey(node)) {
-            node.getValue().setPath(true);
-            node = from.get(node);
-            this.show();
+            // cycle all linked junctions, the weight of a corridor is its length
+            int cell = junctions.getCell(node);
+            for(int slot = junctions.getBegin(node); slot < junctions.getEnd(node); slot++) {
+                int neighbor = junctions.getTarget(slot);
+                int neighborCell = junctions.getCell(neighbor);
+                int candidate_g = this.store.getG(cell) + junctions.getWeight(slot);
+
+                // if the founded score is better than previous one
+                if(candidate_g < this.store.getG(neighborCell)) {
+
+                    // track the path and update the g/h/f factor
+                    from[neighbor] = node;
+                    via[neighbor] = slot;
+                    this.store.setG(neighborCell, candidate_g);
+                    this.store.setH(neighborCell, this.heuristic(grid.getX(neighborCell), grid.getY(neighborCell), endX, endY));
+
+                    // add the neighbor to the openset, or move it up if already queued
+                    if(!openset.contains(neighbor)) this.store.setCandidate(neighborCell, true);
+                    openset.push(neighbor, this.priority(neighborCell));
+                }
+            }
         }
 
+        // error
+        if (visualize) this.finish();
+        return null;
+    }
+
+    /**
+     * Reconstruct path of the maze from the junction graph, expanding each corridor back into its cells
+     *
+     * @param junctions the junction graph
+     * @param from the best previous junction of each junction, -1 if not reached
+     * @param via the edge slot leading to each junction from the previous one
+     * @param node the end junction
+     * @param visualize true if we want to show to the cli each path step, false otherwise
+     * @return the maze with highlighted path
+     */
+    private Maze<NodeData, EdgeData> reconstructPath(JunctionGraph junctions, int[] from, int[] via, int node, boolean visualize) {
+
+        this.length = 0;
+        while (from[node] != -1) {
+            junctions.expand(from[node], via[node], cell -> {
+                this.store.setPath(cell, true);
+                this.length++;
+                if (visualize) this.show();
+            });
+            node = from[node];
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
         // return complete maze
         return this.maze;
     }
 
     /**
-     * Return the weight of passing from current note to the given neighbor
+     * Reconstruct path of the maze
      *
-     * @param current the first node
-     * @param neighbor the second node
+     * @param from the best previous cell of each cell, -1 if not reached
+     * @param cell the end cell
+     * @param visualize true if we want to show to the cli each path step, false otherwise
+     * @return the maze with highlighted path
+     */
+    private Maze<NodeData, EdgeData> reconstructPath(int[] from, int cell, boolean visualize) {
+
+        this.length = 0;
+        while (from[cell] != -1) {
+            this.store.setPath(cell, true);
+            this.length++;
+            cell = from[cell];
+            if (visualize) this.show();
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        // return complete maze
+        return this.maze;
+    }
+
+    /**
+     * Return the openset priority of a cell, its f score
+     * <p>on the heap ties are broken in favor of the cell closer to the end, buckets already pop the last cell
+     * queued</p>
+     *
+     * @param cell the cell
+     * @return the priority, lower comes first
+     */
+    private long priority(int cell) {
+        if (this.openSet == OpenSet.BUCKETS) return this.store.getF(cell);
+        return (long) this.store.getF(cell) << 32 | this.store.getH(cell);
+    }
+
+    /**
+     * Return the weight of passing from current cell to the given neighbor
+     *
+     * @param current the first cell
+     * @param neighbor the second cell
      * @return the calculated weight
      */
-    private int distance(Node<NodeData> current, Node<NodeData> neighbor ) {
+    private int distance(int current, int neighbor) {
         // since this is always an unweighted graph return always standard weight to pass from a node to another
         return 1;
     }
 
     /**
-     * heuristic function used to estimate cost from node to the end, using taxicab geometry
+     * heuristic function used to estimate cost from cell to the end, using taxicab geometry
      *
-     * @param node the start node
-     * @param end the end node
-     * @return the estimate cost to reach end node from start node
+     * @param x the cell column
+     * @param y the cell row
+     * @param endX the end cell column
+     * @param endY the end cell row
+     * @return the estimate cost to reach end cell from the cell
      */
-    private int heuristic(Node<NodeData> node, Node<NodeData> end) {
-        return Math.abs(node.getValue().getX() - end.getValue().getX()) + Math.abs(node.getValue().getY() - end.getValue().getY());
+    private int heuristic(int x, int y, int endX, int endY) {
+        return Math.abs(x - endX) + Math.abs(y - endY);
     }
 
     // STATIC FUNCTIONS ----------------------------------------------------------------
@@ -197,4 +376,59 @@ public class AStarSolver extends MazeSolver<NodeData, EdgeData> {
         return ee;
     }
 
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public OpenSet getOpenSet() {
+        return this.openSet;
+    }
+
+    public void setOpenSet(OpenSet openSet) {
+        this.openSet = openSet;
+    }
+
+    public boolean isContracted() {
+        return this.contracted;
+    }
+
+    /**
+     * choose whether to search the junction graph of the maze instead of every cell
+     * <p>the path found is the same, the graph is built on the first contracted run and reused by the following
+     * ones, so walls changed after it are not seen</p>
+     *
+     * @param contracted true to search the junction graph
+     */
+    public void setContracted(boolean contracted) {
+        this.contracted = contracted;
+    }
+
+    public JunctionGraph getJunctions() {
+        return this.junctions;
+    }
+
+    /**
+     * give a junction graph built in advance, to share it between solvers of the same maze
+     *
+     * @param junctions the junction graph of the maze
+     */
+    public void setJunctions(JunctionGraph junctions) {
+        this.junctions = junctions;
+    }
+
+    /**
+     * retrieve how many nodes the last run expanded
+     *
+     * @return the number of cells, or junctions on a contracted run, taken from the openset
+     */
+    public long getExpanded() {
+        return this.expanded;
+    }
+
+    /**
+     * retrieve the length of the last path found
+     *
+     * @return the number of steps from the start to the end cell, -1 if no path was found
+     */
+    public int getLength() {
+        return this.length;
+    }
 }
@@ -18,6 +18,9 @@ public class NodeData extends libraries.maze.NodeData {
     private int h; // heuristic estimate to reach the end
     private int f; // complete evaluation of the node (g + h)
 
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+
     public NodeData(int x, int y) {
         super(x, y);
 
@@ -27,6 +30,19 @@ public class NodeData extends libraries.maze.NodeData {
         this.g = Integer.MAX_VALUE;
         this.h = Integer.MIN_VALUE;
         this.f = Integer.MAX_VALUE;
+
+        this.store = null;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        super(store, id);
+        this.store = store;
     }
 
     // GETTERS / SETTERS ------------------------------------------------------
@@ -41,26 +57,42 @@ public class NodeData extends libraries.maze.NodeData {
         return libraries.maze.NodeData.STYLE_DEF;
     }
 
-    public boolean isCandidate() { return this.candidate; }
-    public void setCandidate(boolean candidate) { this.candidate = candidate; }
+    public boolean isCandidate() { return this.store != null ? this.store.isCandidate(this.getId()) : this.candidate; }
+    public void setCandidate(boolean candidate) {
+        if (this.store != null) this.store.setCandidate(this.getId(), candidate);
+        else this.candidate = candidate;
+    }
 
-    public boolean isPath() { return this.path; }
-    public void setPath(boolean path) { this.path = path; }
+    public boolean isPath() { return this.store != null ? this.store.isPath(this.getId()) : this.path; }
+    public void setPath(boolean path) {
+        if (this.store != null) this.store.setPath(this.getId(), path);
+        else this.path = path;
+    }
 
 
-    public int getG() { return this.g; }
+    public int getG() { return this.store != null ? this.store.getG(this.getId()) : this.g; }
 
     public void setG(int g) {
+        if (this.store != null) {
+            this.store.setG(this.getId(), g);
+            return;
+        }
+
         this.g = g;
         this.f = this.g + this.h;
     }
 
-    public int getH() { return h; }
+    public int getH() { return this.store != null ? this.store.getH(this.getId()) : h; }
 
     public void setH(int h) {
+        if (this.store != null) {
+            this.store.setH(this.getId(), h);
+            return;
+        }
+
         this.h = h;
         this.f = this.g + this.h;
     }
 
-    public int getF() { return this.f; }
+    public int getF() { return this.store != null ? this.store.getF(this.getId()) : this.f; }
 }
@@ -0,0 +1,61 @@
+package libraries.maze.solvers.astar;
+
+import libraries.maze.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Struct of arrays storage for {@link NodeData} of the A* solver
+ */
+public class NodeStore extends libraries.maze.NodeStore {
+
+    // MEMBERS ----------------------------------------------------------------
+    // style
+    private final long[] candidate;
+    private final long[] path;
+
+    // score tracking, f is always derived as g + h
+    private final int[] g;
+    private final int[] h;
+
+    public NodeStore(MazeGrid grid) {
+        super(grid);
+        this.candidate = NodeStore.newBits(grid.size());
+        this.path = NodeStore.newBits(grid.size());
+
+        this.g = new int[grid.size()];
+        this.h = new int[grid.size()];
+        Arrays.fill(this.g, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    /**
+     * Forget the scores and the search flags of every cell
+     */
+    public void clear() {
+        Arrays.fill(this.candidate, 0L);
+        Arrays.fill(this.path, 0L);
+        Arrays.fill(this.g, Integer.MAX_VALUE);
+        Arrays.fill(this.h, 0);
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public boolean isCandidate(int id) { return NodeStore.getBit(this.candidate, id); }
+    public void setCandidate(int id, boolean candidate) { NodeStore.setBit(this.candidate, id, candidate); }
+
+    public boolean isPath(int id) { return NodeStore.getBit(this.path, id); }
+    public void setPath(int id, boolean path) { NodeStore.setBit(this.path, id, path); }
+
+    public int getG(int id) { return this.g[id]; }
+    public void setG(int id, int g) { this.g[id] = g; }
+
+    public int getH(int id) { return this.h[id]; }
+    public void setH(int id, int h) { this.h[id] = h; }
+
+    public int getF(int id) { return this.g[id] + this.h[id]; }
+}
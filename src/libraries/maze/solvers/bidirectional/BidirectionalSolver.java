@@ -0,0 +1,338 @@
+package libraries.maze.solvers.bidirectional;
+
+import libraries.cli.CLI;
+import libraries.maze.Maze;
+import libraries.maze.MazeGrid;
+import libraries.maze.generators.rds.RDSMazeGenerator;
+import libraries.maze.io.MazeFile;
+import libraries.maze.solvers.MazeSolver;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bidirectional breadth first search solver
+ * <p>
+ * Two searches grow a level at a time, one from the start and one from the end cell, and mark the cells they reach
+ * on a shared owner array with an atomic bitwise or: the search setting the second bit of a cell has found a meeting
+ * point and records the path length through it. The first meeting is not always the best one, so the searches only
+ * stop once the best length is not greater than the sum of the radii both searches have fully discovered: any
+ * shorter path would have a cell within both radii, already found as a meeting point. Searches can run on the caller
+ * thread, always growing the smaller frontier, or on two threads coordinating only through the owner array.
+ * </p>
+ */
+public class BidirectionalSolver extends MazeSolver<NodeData, EdgeData> {
+
+    // owner bits of a cell
+    private static final byte FORWARD = 1;
+    private static final byte BACKWARD = 2;
+
+    // radius of a search that has no cell left to grow from
+    private static final int EXHAUSTED = Integer.MAX_VALUE;
+
+    // atomic access to the owner array
+    private static final VarHandle OWNERS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    // MEMBERS --------------------------------------------------------------------------
+
+    /**
+     * scratch state of the solver, laid over the shared maze topology
+     */
+    private final NodeStore store;
+
+    /**
+     * true to run the two searches on two threads
+     */
+    private boolean parallel;
+
+    /**
+     * number of steps of the last path found, -1 if there was none
+     */
+    private int length = -1;
+
+    // PUBLIC FUNCTIONS -----------------------------------------------------------------
+
+    public BidirectionalSolver(Maze<? extends libraries.maze.NodeData, ? extends libraries.maze.EdgeData> maze) {
+
+        // call parent constructor
+        super(maze);
+
+        // lay solver node data over the maze topology, walls are shared and never copied
+        this.store = new NodeStore(maze.getGrid());
+        this.maze = maze.overlay(this.store, this.store::view, EdgeData::new);
+    }
+
+    /**
+     * Ask for solver essential data and create a new instance of the solver
+     *
+     * @return a new instance of BidirectionalSolver
+     */
+    public static BidirectionalSolver startUserInteraction() {
+        CLI.clear();
+        CLI.out(CLI.LOGO);
+
+        // solve a saved maze if a file is given
+        String file = CLI.input("Maze file to solve (leave empty to generate a new maze) : ").trim();
+        if (!file.isEmpty()) {
+            try {
+                return new BidirectionalSolver(MazeFile.load(Path.of(file)).toMaze());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        int width = CLI.inputNum(String.format("Maze width (max: %s) : ", Math.floorDiv(CLI.getWidth(), 2)));
+        int height = CLI.inputNum(String.format("Maze height (max: %s) : ", Math.floorDiv(CLI.getHeight(), 2)));
+
+        RDSMazeGenerator generator = new RDSMazeGenerator(width, height);
+        generator.start(false);
+
+        return new BidirectionalSolver(generator.getMaze());
+    }
+
+    /**
+     * Start maze solving
+     * <p>when visualizing, the searches always run on the caller thread</p>
+     *
+     * @param visualize true if we want to show to the cli each search level, false otherwise
+     * @return the maze with highlighted path, null if the end can't be reached
+     */
+    public Maze<NodeData, EdgeData> start(boolean visualize) {
+        MazeGrid grid = this.maze.getGrid();
+        this.store.clear();
+        this.length = -1;
+
+        // searches from both ends, sharing the owner array and the best meeting found
+        byte[] owners = new byte[grid.size()];
+        AtomicLong meeting = new AtomicLong(Long.MAX_VALUE);
+        NodeStore store = visualize ? this.store : null;
+        Search forward = new Search(grid, owners, meeting, BidirectionalSolver.FORWARD, store);
+        Search backward = new Search(grid, owners, meeting, BidirectionalSolver.BACKWARD, store);
+        forward.other = backward;
+        backward.other = forward;
+        forward.seed(grid.getStart());
+        backward.seed(grid.getEnd());
+
+        if (this.parallel && !visualize) {
+            Thread thread = new Thread(backward::run, "maze-backward-search");
+            thread.start();
+            forward.run();
+
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        } else {
+            while (!forward.isDone() || !backward.isDone()) {
+
+                // grow the smaller frontier
+                Search search = backward.isDone() || (!forward.isDone() && forward.frontier() <= backward.frontier()) ? forward : backward;
+                search.grow();
+
+                // show current progress
+                if (visualize) this.show();
+            }
+        }
+
+        // error
+        if (meeting.get() == Long.MAX_VALUE) {
+            if (visualize) this.finish();
+            return null;
+        }
+
+        return this.reconstructPath(forward, backward, meeting.get(), visualize);
+    }
+
+    // PRIVATE FUNCTIONS ----------------------------------------------------------------
+
+    /**
+     * Reconstruct path of the maze, from the meeting cell back to both ends
+     *
+     * @param forward the search from the start cell
+     * @param backward the search from the end cell
+     * @param meeting the best meeting, as {@code length << 32 | cell}
+     * @param visualize true if we want to show to the cli each path step, false otherwise
+     * @return the maze with highlighted path
+     */
+    private Maze<NodeData, EdgeData> reconstructPath(Search forward, Search backward, long meeting, boolean visualize) {
+        this.length = (int) (meeting >>> 32);
+        int middle = (int) meeting;
+
+        // the start cell is left out, as every other solver does
+        for (int cell = middle; forward.from[cell] != -1; cell = forward.from[cell]) {
+            this.store.setPath(cell, true);
+            if (visualize) this.show();
+        }
+        for (int cell = backward.from[middle]; cell != -1; cell = backward.from[cell]) {
+            this.store.setPath(cell, true);
+            if (visualize) this.show();
+        }
+
+        // draw the final state
+        if (visualize) this.finish();
+
+        // return complete maze
+        return this.maze;
+    }
+
+    /**
+     * Breadth first search from one end of the maze
+     * <p>only the search itself writes its distances, parents and queue, the other search reads the distance of a cell
+     * after seeing its owner bit, which is set after the distance is written</p>
+     */
+    private static class Search {
+
+        // shared state
+        private final MazeGrid grid;
+        private final byte[] owners;
+        private final AtomicLong meeting;
+        private final NodeStore store;
+        private Search other;
+
+        // own state
+        private final byte bit;
+        private final int[] distance;
+        private final int[] from;
+        private final int[] queue;
+        private int head;
+        private int tail;
+
+        // every cell within this distance was reached, published to the other search
+        private volatile int radius;
+
+        Search(MazeGrid grid, byte[] owners, AtomicLong meeting, byte bit, NodeStore store) {
+            this.grid = grid;
+            this.owners = owners;
+            this.meeting = meeting;
+            this.store = store;
+            this.bit = bit;
+            this.distance = new int[grid.size()];
+            this.from = new int[grid.size()];
+            this.queue = new int[grid.size()];
+        }
+
+        /**
+         * start the search from a cell, both searches must be linked first
+         *
+         * @param source the first cell
+         */
+        void seed(int source) {
+            this.reach(source, -1, 0);
+            this.queue[this.tail++] = source;
+            this.radius = 0;
+        }
+
+        /**
+         * grow until the search is done, the loop of a search running on its own thread
+         */
+        void run() {
+            while (!this.isDone()) this.grow();
+        }
+
+        /**
+         * check if the search can stop
+         *
+         * @return true if the search has no cell left or no shorter meeting can still be found
+         */
+        boolean isDone() {
+            if (this.radius == BidirectionalSolver.EXHAUSTED) return true;
+
+            // radii are read first, so the meetings found within them are visible
+            long radii = (long) this.radius + this.other.radius;
+            return (this.meeting.get() >>> 32) <= radii;
+        }
+
+        /**
+         * retrieve the size of the frontier
+         *
+         * @return the number of cells queued for the next level
+         */
+        int frontier() {
+            return this.tail - this.head;
+        }
+
+        /**
+         * reach every cell of the next level
+         */
+        void grow() {
+            int width = this.grid.getWidth();
+            int level = this.tail;
+
+            while (this.head < level) {
+                int cell = this.queue[this.head++];
+                int sides = this.grid.getOpenSides(cell);
+                int next = this.distance[cell] + 1;
+
+                if ((sides & MazeGrid.NORTH) != 0) this.visit(cell - width, cell, next);
+                if ((sides & MazeGrid.SOUTH) != 0) this.visit(cell + width, cell, next);
+                if ((sides & MazeGrid.EAST) != 0) this.visit(cell + 1, cell, next);
+                if ((sides & MazeGrid.WEST) != 0) this.visit(cell - 1, cell, next);
+            }
+
+            this.radius = this.tail == level ? BidirectionalSolver.EXHAUSTED : this.radius + 1;
+        }
+
+        /**
+         * reach a neighbor unless this search already did
+         *
+         * @param cell the neighbor
+         * @param parent the cell it is reached from
+         * @param distance the neighbor distance from the search source
+         */
+        private void visit(int cell, int parent, int distance) {
+
+            // only this search sets its own bit, a plain read is enough to skip its cells
+            if ((this.owners[cell] & this.bit) != 0) return;
+
+            this.reach(cell, parent, distance);
+            this.queue[this.tail++] = cell;
+        }
+
+        /**
+         * mark a cell as reached, recording a meeting if the other search reached it first
+         *
+         * @param cell the cell
+         * @param parent the cell it is reached from, -1 for the source
+         * @param distance the cell distance from the search source
+         */
+        private void reach(int cell, int parent, int distance) {
+            this.distance[cell] = distance;
+            this.from[cell] = parent;
+            if (this.store != null) {
+                if (this.bit == BidirectionalSolver.FORWARD) this.store.setForward(cell, true);
+                else this.store.setBackward(cell, true);
+            }
+
+            // the atomic or publishes distance and parent, and tells which search came first
+            byte owner = (byte) BidirectionalSolver.OWNERS.getAndBitwiseOr(this.owners, cell, this.bit);
+            if (owner == 0) return;
+
+            long length = (long) distance + this.other.distance[cell];
+            this.meeting.accumulateAndGet(length << 32 | cell, Math::min);
+        }
+    }
+
+    // GETTERS / SETTERS ----------------------------------------------------------------
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * retrieve the length of the last path found
+     *
+     * @return the number of steps from the start to the end cell, -1 if no path was found
+     */
+    public int getLength() {
+        return this.length;
+    }
+}
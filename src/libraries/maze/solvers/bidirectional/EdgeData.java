@@ -0,0 +1,5 @@
+package libraries.maze.solvers.bidirectional;
+
+public class EdgeData extends libraries.maze.EdgeData {
+
+}
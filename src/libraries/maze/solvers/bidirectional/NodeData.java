@@ -0,0 +1,69 @@
+package libraries.maze.solvers.bidirectional;
+
+import libraries.cli.CLIStyle;
+
+public class NodeData extends libraries.maze.NodeData {
+
+    // CONSTANTS --------------------------------------------------------------
+    public static final String STYLE_FORWARD = CLIStyle.apply("·", CLIStyle.GREEN);
+    public static final String STYLE_BACKWARD = CLIStyle.apply("·", CLIStyle.CYAN);
+    public static final String STYLE_PTH = CLIStyle.apply("·", CLIStyle.RED, CLIStyle.BOLD);
+
+    // MEMBERS ----------------------------------------------------------------
+    private boolean forward;
+    private boolean backward;
+    private boolean path;
+
+    // backing storage, when given this object is only a view over a cell of the store
+    private final NodeStore store;
+
+    public NodeData(int x, int y) {
+        super(x, y);
+        this.forward = false;
+        this.backward = false;
+        this.path = false;
+        this.store = null;
+    }
+
+    /**
+     * Create a view over a cell of a node store
+     *
+     * @param store the store holding node data
+     * @param id the cell index
+     */
+    public NodeData(NodeStore store, int id) {
+        super(store, id);
+        this.store = store;
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public String toString(boolean style) {
+
+        if (this.isEnd()) return libraries.maze.NodeData.STYLE_END;
+        else if (this.isStart()) return libraries.maze.NodeData.STYLE_START;
+        else if (style && this.isPath()) return NodeData.STYLE_PTH;
+        else if (style && this.isForward()) return NodeData.STYLE_FORWARD;
+        else if (style && this.isBackward()) return NodeData.STYLE_BACKWARD;
+
+        return libraries.maze.NodeData.STYLE_DEF;
+    }
+
+    public boolean isForward() { return this.store != null ? this.store.isForward(this.getId()) : this.forward; }
+    public void setForward(boolean forward) {
+        if (this.store != null) this.store.setForward(this.getId(), forward);
+        else this.forward = forward;
+    }
+
+    public boolean isBackward() { return this.store != null ? this.store.isBackward(this.getId()) : this.backward; }
+    public void setBackward(boolean backward) {
+        if (this.store != null) this.store.setBackward(this.getId(), backward);
+        else this.backward = backward;
+    }
+
+    public boolean isPath() { return this.store != null ? this.store.isPath(this.getId()) : this.path; }
+    public void setPath(boolean path) {
+        if (this.store != null) this.store.setPath(this.getId(), path);
+        else this.path = path;
+    }
+}
@@ -0,0 +1,48 @@
+package libraries.maze.solvers.bidirectional;
+
+import libraries.maze.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Struct of arrays storage for {@link NodeData} of the bidirectional solver
+ */
+public class NodeStore extends libraries.maze.NodeStore {
+
+    // MEMBERS ----------------------------------------------------------------
+    private final long[] forward;
+    private final long[] backward;
+    private final long[] path;
+
+    public NodeStore(MazeGrid grid) {
+        super(grid);
+        this.forward = NodeStore.newBits(grid.size());
+        this.backward = NodeStore.newBits(grid.size());
+        this.path = NodeStore.newBits(grid.size());
+    }
+
+    @Override
+    public NodeData view(int id) {
+        return new NodeData(this, id);
+    }
+
+    /**
+     * Clear the search flags of every cell
+     */
+    public void clear() {
+        Arrays.fill(this.forward, 0L);
+        Arrays.fill(this.backward, 0L);
+        Arrays.fill(this.path, 0L);
+    }
+
+    // GETTERS / SETTERS ------------------------------------------------------
+
+    public boolean isForward(int id) { return NodeStore.getBit(this.forward, id); }
+    public void setForward(int id, boolean forward) { NodeStore.setBit(this.forward, id, forward); }
+
+    public boolean isBackward(int id) { return NodeStore.getBit(this.backward, id); }
+    public void setBackward(int id, boolean backward) { NodeStore.setBit(this.backward, id, backward); }
+
+    public boolean isPath(int id) { return NodeStore.getBit(this.path, id); }
+    public void setPath(int id, boolean path) { NodeStore.setBit(this.path, id, path); }
+}